@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.Client;
+
+/**
+ * Remembers the last computed anchor bounds of the RS3 examine targets, so the convex hull of a target
+ * is only projected again when the camera or the target itself changed.
+ * Examines sharing the same target share the same entry, so their hull is computed once per frame.
+ */
+@Singleton
+public class AnchorCache
+{
+	// Room for the targets of a few examines that were just replaced, in case they are examined again
+	private static final int EXTRA_ENTRIES = 3;
+	private static final int CAMERA_STATE_SIZE = 10;
+
+	@Inject
+	private Client client;
+
+	private Entry[] entries = new Entry[ExamineTooltipConfig.DEFAULT_MAX_EXAMINES + EXTRA_ENTRIES];
+	private final int[] cameraState = new int[CAMERA_STATE_SIZE];
+	private int cameraVersion;
+	private int frame;
+
+	public class Entry
+	{
+		private ExamineType type;
+		private int id;
+		private int widgetId;
+		private int actionParam;
+		private int worldViewId;
+
+		private int cameraVersion = -1;
+		private int lastFrame;
+		private final int[] targetState = new int[6];
+
+		@Getter
+		@Setter
+		private Rectangle bounds;
+
+		/**
+		 * Records the current state of the target.
+		 * @return True if the camera or the target changed since the bounds were last set, meaning they must be recomputed.
+		 */
+		public boolean updateState(int a, int b, int c, int d, int e, int f)
+		{
+			final int[] s = targetState;
+			if (cameraVersion == AnchorCache.this.cameraVersion
+				&& s[0] == a && s[1] == b && s[2] == c && s[3] == d && s[4] == e && s[5] == f)
+			{
+				return false;
+			}
+
+			s[0] = a;
+			s[1] = b;
+			s[2] = c;
+			s[3] = d;
+			s[4] = e;
+			s[5] = f;
+			cameraVersion = AnchorCache.this.cameraVersion;
+			return true;
+		}
+
+		private boolean isFor(ExamineTextTime examine)
+		{
+			return type == examine.getType() && id == examine.getId()
+				&& widgetId == examine.getWidgetId() && actionParam == examine.getActionParam()
+				&& worldViewId == examine.getWorldViewId();
+		}
+	}
+
+	/**
+	 * Must be called once at the start of every frame, before any entry is used.
+	 */
+	public void beginFrame()
+	{
+		frame++;
+
+		final int[] s = cameraState;
+		final int yaw = client.getCameraYaw();
+		final int pitch = client.getCameraPitch();
+		final int scale = client.getScale();
+		final int cameraX = client.getCameraX();
+		final int cameraY = client.getCameraY();
+		final int cameraZ = client.getCameraZ();
+		final int viewportX = client.getViewportXOffset();
+		final int viewportY = client.getViewportYOffset();
+		final int viewportWidth = client.getViewportWidth();
+		final int viewportHeight = client.getViewportHeight();
+
+		if (s[0] != yaw || s[1] != pitch || s[2] != scale || s[3] != cameraX || s[4] != cameraY || s[5] != cameraZ
+			|| s[6] != viewportX || s[7] != viewportY || s[8] != viewportWidth || s[9] != viewportHeight)
+		{
+			s[0] = yaw;
+			s[1] = pitch;
+			s[2] = scale;
+			s[3] = cameraX;
+			s[4] = cameraY;
+			s[5] = cameraZ;
+			s[6] = viewportX;
+			s[7] = viewportY;
+			s[8] = viewportWidth;
+			s[9] = viewportHeight;
+			cameraVersion++;
+		}
+	}
+
+	/**
+	 * Gets the entry for the target of the given examine, reusing the least recently used entry if there is none yet.
+	 */
+	public Entry getEntry(ExamineTextTime examine)
+	{
+		Entry oldest = null;
+		for (int i = 0; i < entries.length; i++)
+		{
+			Entry entry = entries[i];
+			if (entry == null)
+			{
+				entry = new Entry();
+				entries[i] = entry;
+				return claim(entry, examine);
+			}
+			else if (entry.isFor(examine))
+			{
+				entry.lastFrame = frame;
+				return entry;
+			}
+			else if (oldest == null || entry.lastFrame < oldest.lastFrame)
+			{
+				oldest = entry;
+			}
+		}
+
+		return claim(oldest, examine);
+	}
+
+	/**
+	 * Sizes the cache for the given number of examines shown at once, so each of them keeps its own entry.
+	 */
+	public void setCapacity(int maxExamines)
+	{
+		final int size = Math.max(1, maxExamines) + EXTRA_ENTRIES;
+		if (size != entries.length)
+		{
+			entries = Arrays.copyOf(entries, size);
+		}
+	}
+
+	public void clear()
+	{
+		for (Entry entry : entries)
+		{
+			if (entry != null)
+			{
+				entry.type = null;
+				entry.cameraVersion = -1;
+				entry.bounds = null;
+			}
+		}
+	}
+
+	private Entry claim(Entry entry, ExamineTextTime examine)
+	{
+		entry.type = examine.getType();
+		entry.id = examine.getId();
+		entry.widgetId = examine.getWidgetId();
+		entry.actionParam = examine.getActionParam();
+		entry.worldViewId = examine.getWorldViewId();
+		entry.cameraVersion = -1;
+		entry.bounds = null;
+		entry.lastFrame = frame;
+		return entry;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.api.ChatMessageType;
+
+/**
+ * Classifies chat messages into examine types using a table of {@link ChatRule}s.
+ * The rules of each message type are compiled into a prefix trie, so classifying a message walks its first
+ * characters once and only tests the regexes of the rules whose literal prefix it starts with,
+ * however many rules there are.
+ */
+public class ChatClassifier
+{
+	private final TrieNode[] roots = new TrieNode[ChatMessageType.values().length];
+
+	private static class TrieNode
+	{
+		private char[] keys = new char[0];
+		private TrieNode[] children = new TrieNode[0];
+		private final List<ChatRule> rules = new ArrayList<>(1);
+
+		private TrieNode getChild(char c)
+		{
+			for (int i = 0; i < keys.length; i++)
+			{
+				if (keys[i] == c)
+				{
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		private TrieNode getOrAddChild(char c)
+		{
+			TrieNode child = getChild(c);
+			if (child == null)
+			{
+				final int n = keys.length;
+				keys = Arrays.copyOf(keys, n + 1);
+				children = Arrays.copyOf(children, n + 1);
+				keys[n] = c;
+				child = new TrieNode();
+				children[n] = child;
+			}
+			return child;
+		}
+	}
+
+	public ChatClassifier(List<ChatRule> rules)
+	{
+		for (ChatRule rule : rules)
+		{
+			final int typeIndex = rule.getMessageType().ordinal();
+			TrieNode node = roots[typeIndex];
+			if (node == null)
+			{
+				node = new TrieNode();
+				roots[typeIndex] = node;
+			}
+
+			final String prefix = rule.getPrefix();
+			for (int i = 0; i < prefix.length(); i++)
+			{
+				node = node.getOrAddChild(prefix.charAt(i));
+			}
+			node.rules.add(rule);
+		}
+	}
+
+	/**
+	 * Checks whether any rule applies to the given message type, so other messages can be ignored right away.
+	 */
+	public boolean handles(ChatMessageType messageType)
+	{
+		return roots[messageType.ordinal()] != null;
+	}
+
+	/**
+	 * Classifies the given message.
+	 * @param messageType The type of the chat message.
+	 * @param text The text of the message, without tags.
+	 * @return The examine type of the first matching rule, or null if no rule matches.
+	 */
+	public ExamineType classify(ChatMessageType messageType, String text)
+	{
+		TrieNode node = roots[messageType.ordinal()];
+		ChatRule best = null;
+
+		for (int i = 0; node != null; i++)
+		{
+			final List<ChatRule> rules = node.rules;
+			for (int j = 0; j < rules.size(); j++)
+			{
+				final ChatRule rule = rules.get(j);
+				if ((best == null || rule.getOrder() < best.getOrder()) && rule.matches(text))
+				{
+					best = rule;
+				}
+			}
+
+			node = i < text.length() ? node.getChild(text.charAt(i)) : null;
+		}
+
+		return best == null ? null : best.getExamineType();
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.util.regex.Pattern;
+import lombok.Value;
+import net.runelite.api.ChatMessageType;
+
+/**
+ * Maps chat messages of a given type starting with a prefix, or matching a regex, to an examine type.
+ */
+@Value
+public class ChatRule
+{
+	private static final String REGEX_METACHARACTERS = "\\.[]{}()*+?|^$";
+
+	ChatMessageType messageType;
+	ExamineType examineType;
+
+	/**
+	 * The literal start every matching message has, used to find the candidate rules of a message.
+	 */
+	String prefix;
+
+	/**
+	 * The regex the message must match from its start, or null if matching the prefix is enough.
+	 */
+	Pattern pattern;
+
+	/**
+	 * Position of the rule in the rule table, the first matching rule wins.
+	 */
+	int order;
+
+	public boolean matches(String text)
+	{
+		return pattern == null || pattern.matcher(text).lookingAt();
+	}
+
+	/**
+	 * Parses a rule formatted as "message type;examine type;match", the match being either a literal prefix
+	 * or a regex between slashes. An empty match matches every message of the type.
+	 * @param line The rule.
+	 * @param order The position of the rule in the rule table.
+	 * @return The parsed rule.
+	 * @throws IllegalArgumentException If the rule is malformed.
+	 */
+	public static ChatRule parse(String line, int order)
+	{
+		final String[] parts = line.split(";", 3);
+		if (parts.length != 3)
+		{
+			throw new IllegalArgumentException("Expected 'message type;examine type;match': " + line);
+		}
+
+		final ChatMessageType messageType = ChatMessageType.valueOf(parts[0].trim());
+		final ExamineType examineType = ExamineType.valueOf(parts[1].trim());
+		final String match = parts[2].trim();
+
+		if (match.length() >= 2 && match.startsWith("/") && match.endsWith("/"))
+		{
+			final String regex = match.substring(1, match.length() - 1);
+			return new ChatRule(messageType, examineType, getLiteralPrefix(regex), Pattern.compile(regex), order);
+		}
+
+		return new ChatRule(messageType, examineType, match, null, order);
+	}
+
+	/**
+	 * Gets the literal characters every match of the regex starts with.
+	 */
+	private static String getLiteralPrefix(String regex)
+	{
+		if (hasTopLevelAlternation(regex))
+		{
+			// Alternatives may start with anything
+			return "";
+		}
+
+		int start = regex.startsWith("^") ? 1 : 0;
+		int end = start;
+		// Stops at the first escape or character class as well, so their content is never taken as literal
+		while (end < regex.length() && REGEX_METACHARACTERS.indexOf(regex.charAt(end)) < 0)
+		{
+			end++;
+		}
+
+		// A quantifier applies to the last literal character, which then might not be there
+		if (end < regex.length() && end > start && "?*{".indexOf(regex.charAt(end)) >= 0)
+		{
+			end--;
+		}
+
+		return regex.substring(start, end);
+	}
+
+	private static boolean hasTopLevelAlternation(String regex)
+	{
+		int depth = 0;
+		for (int i = 0; i < regex.length(); i++)
+		{
+			switch (regex.charAt(i))
+			{
+				case '\\':
+					i++;
+					break;
+				case '[':
+					i = skipCharacterClass(regex, i);
+					break;
+				case '(':
+					depth++;
+					break;
+				case ')':
+					depth--;
+					break;
+				case '|':
+					if (depth == 0)
+					{
+						return true;
+					}
+					break;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the index of the ']' closing the character class opened at the given index, skipping escapes and
+	 * nested classes. Like in {@link Pattern}, a ']' right after the opening '[' or "[^" is part of the class.
+	 */
+	private static int skipCharacterClass(String regex, int start)
+	{
+		int depth = 0;
+		for (int i = start; i < regex.length(); i++)
+		{
+			switch (regex.charAt(i))
+			{
+				case '\\':
+					i++;
+					break;
+				case '[':
+					depth++;
+					if (i + 1 < regex.length() && regex.charAt(i + 1) == '^')
+					{
+						i++;
+					}
+					if (i + 1 < regex.length() && regex.charAt(i + 1) == ']')
+					{
+						i++;
+					}
+					break;
+				case ']':
+					if (--depth == 0)
+					{
+						return i;
+					}
+					break;
+			}
+		}
+		return regex.length();
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Places the RS3 examine boxes of a frame so they do not overlap.
+ * <p>
+ * Boxes are swept top to bottom by where they want to be. The boxes already placed form a skyline, a tree of
+ * horizontal segments by their left edge, each with the bottom of the lowest box above it. A new box goes below
+ * the segments its x range covers and then raises those segments to its own bottom, splitting the segments at
+ * its edges, so placing it takes O(log n) plus the segments it covers and the whole layout O(n log n).
+ * If that would push a clamped box out of its region, the box moves sideways next to the segments in the way,
+ * first to the right then to the left, and is only left outside its region when there is no room anywhere.
+ * <p>
+ * To keep boxes from swapping places and jittering as their targets cross, two boxes that want to be within
+ * a box height of each other keep the order they were placed in on the previous frame.
+ */
+class ExamineBoxLayout
+{
+	private static final int INITIAL_CAPACITY = 8;
+	private static final int BOX_GAP = 2;
+
+	// Fields of each box in the boxes array
+	private static final int X = 0;
+	private static final int Y = 1;
+	private static final int WIDTH = 2;
+	private static final int HEIGHT = 3;
+	private static final int CLAMP = 4;
+	private static final int X_MIN = 5;
+	private static final int X_MAX = 6;
+	private static final int Y_MIN = 7;
+	private static final int Y_MAX = 8;
+	private static final int BOX_FIELDS = 9;
+
+	private ExamineTextTime[] examines = new ExamineTextTime[INITIAL_CAPACITY];
+	private int[] boxes = new int[INITIAL_CAPACITY * BOX_FIELDS];
+	private long[] order = new long[INITIAL_CAPACITY];
+	private int size;
+
+	// Left edge of each skyline segment -> where a box over that segment can start, below the boxes and their gap
+	private final TreeMap<Integer, Integer> skyline = new TreeMap<>();
+
+	/**
+	 * Starts a new frame, forgetting the boxes of the previous one.
+	 */
+	void begin()
+	{
+		Arrays.fill(examines, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Adds the box of an examine at its preferred location.
+	 * If clamped, the box is kept inside the given region as long as there is room for it there.
+	 */
+	void add(ExamineTextTime examine, int x, int y, int width, int height,
+		boolean clamp, int xMin, int xMax, int yMin, int yMax)
+	{
+		if (size == examines.length)
+		{
+			examines = Arrays.copyOf(examines, size * 2);
+			boxes = Arrays.copyOf(boxes, size * 2 * BOX_FIELDS);
+			order = Arrays.copyOf(order, size * 2);
+		}
+
+		final int b = size * BOX_FIELDS;
+		boxes[b + X] = x;
+		boxes[b + Y] = y;
+		boxes[b + WIDTH] = width;
+		boxes[b + HEIGHT] = height;
+		boxes[b + CLAMP] = clamp ? 1 : 0;
+		boxes[b + X_MIN] = xMin;
+		boxes[b + X_MAX] = xMax;
+		boxes[b + Y_MIN] = yMin;
+		boxes[b + Y_MAX] = yMax;
+		examines[size] = examine;
+		size++;
+	}
+
+	/**
+	 * Places every box added this frame, storing the result in the render state of their examine.
+	 */
+	void layout()
+	{
+		for (int i = 0; i < size; i++)
+		{
+			final int b = i * BOX_FIELDS;
+			boxes[b + X] = clampX(b, boxes[b + X]);
+			boxes[b + Y] = clampY(b, boxes[b + Y]);
+			order[i] = ((long) boxes[b + Y] << 32) | i;
+		}
+		Arrays.sort(order, 0, size);
+
+		// Boxes wanting to be within a box height of each other keep their order from the previous frame,
+		// farther apart they do not push each other anyway
+		for (int i = 1; i < size; i++)
+		{
+			final int upper = (int) order[i - 1];
+			final int lower = (int) order[i];
+			if (boxes[lower * BOX_FIELDS + Y] - boxes[upper * BOX_FIELDS + Y] < boxes[upper * BOX_FIELDS + HEIGHT]
+				&& wasPlacedBelow(upper, lower))
+			{
+				order[i - 1] = lower;
+				order[i] = upper;
+			}
+		}
+
+		// A single segment over every x, with nothing placed on it yet
+		skyline.clear();
+		skyline.put(Integer.MIN_VALUE, Integer.MIN_VALUE);
+
+		for (int i = 0; i < size; i++)
+		{
+			final int index = (int) order[i];
+			final int b = index * BOX_FIELDS;
+			final int width = boxes[b + WIDTH];
+			final int preferredY = boxes[b + Y];
+
+			int x = boxes[b + X];
+			int y = Math.max(preferredY, getBottom(x, width));
+
+			// A box pushed out of its region moves sideways, if the whole region is full it stays below the other boxes
+			if (!fitsY(b, y) && (placeSideways(b, x, preferredY, true) || placeSideways(b, x, preferredY, false)))
+			{
+				x = boxes[b + X];
+				y = boxes[b + Y];
+			}
+
+			occupy(x, width, y + boxes[b + HEIGHT] + BOX_GAP);
+			boxes[b + X] = x;
+			boxes[b + Y] = y;
+
+			final ExamineRenderState renderState = examines[index].getRenderState();
+			renderState.setPlaced(true);
+			renderState.setPlacedX(x);
+			renderState.setPlacedY(y);
+		}
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	ExamineTextTime get(int index)
+	{
+		return examines[index];
+	}
+
+	private boolean wasPlacedBelow(int upper, int lower)
+	{
+		final ExamineRenderState upperState = examines[upper].getRenderState();
+		final ExamineRenderState lowerState = examines[lower].getRenderState();
+		return upperState.isPlaced() && lowerState.isPlaced() && upperState.getPlacedY() > lowerState.getPlacedY();
+	}
+
+	/**
+	 * Looks for room for a box next to the segments in its way, stepping over them one at a time.
+	 * @return True if the box fits inside its region there, with its position stored in the boxes array.
+	 */
+	private boolean placeSideways(int b, int x, int preferredY, boolean right)
+	{
+		final int width = boxes[b + WIDTH];
+		final int maxBottom = boxes[b + Y_MAX] - boxes[b + HEIGHT];
+		while (true)
+		{
+			// Step past the farthest segment in the way, any other one would still be under the box
+			if (right)
+			{
+				int blockedEnd = x;
+				for (Map.Entry<Integer, Integer> e = firstSegment(x); e != null && e.getKey() < x + width; e = skyline.higherEntry(e.getKey()))
+				{
+					if (e.getValue() > maxBottom)
+					{
+						// The last segment runs off to the right and is never raised, so a blocking one always has a next
+						blockedEnd = skyline.higherKey(e.getKey());
+					}
+				}
+				x = blockedEnd + BOX_GAP;
+			}
+			else
+			{
+				int blockedStart = x + width;
+				for (Map.Entry<Integer, Integer> e = firstSegment(x); e != null && e.getKey() < x + width; e = skyline.higherEntry(e.getKey()))
+				{
+					if (e.getValue() > maxBottom)
+					{
+						blockedStart = Math.min(blockedStart, e.getKey());
+					}
+				}
+				x = blockedStart - BOX_GAP - width;
+			}
+
+			if (x < boxes[b + X_MIN] || x + width > boxes[b + X_MAX])
+			{
+				return false;
+			}
+
+			final int y = Math.max(preferredY, getBottom(x, width));
+			if (fitsY(b, y))
+			{
+				boxes[b + X] = x;
+				boxes[b + Y] = y;
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Gets the segment under the left edge of a box, there always is one as the skyline starts at the far left.
+	 */
+	private Map.Entry<Integer, Integer> firstSegment(int x)
+	{
+		return skyline.floorEntry(x);
+	}
+
+	private int getBottom(int x, int width)
+	{
+		int bottom = Integer.MIN_VALUE;
+		for (Map.Entry<Integer, Integer> e = firstSegment(x); e != null && e.getKey() < x + width; e = skyline.higherEntry(e.getKey()))
+		{
+			bottom = Math.max(bottom, e.getValue());
+		}
+		return bottom;
+	}
+
+	/**
+	 * Raises the skyline under a newly placed box to its bottom, splitting the segments at its edges.
+	 */
+	private void occupy(int x, int width, int bottom)
+	{
+		final int end = x + width;
+		final int bottomAfter = skyline.floorEntry(end).getValue();
+		skyline.subMap(x, true, end, false).clear();
+		skyline.put(x, bottom);
+		skyline.putIfAbsent(end, bottomAfter);
+	}
+
+	private boolean fitsY(int b, int y)
+	{
+		return boxes[b + CLAMP] == 0 || y + boxes[b + HEIGHT] <= boxes[b + Y_MAX];
+	}
+
+	private int clampX(int b, int x)
+	{
+		if (boxes[b + CLAMP] == 0)
+		{
+			return x;
+		}
+
+		if (x < boxes[b + X_MIN])
+		{
+			return boxes[b + X_MIN];
+		}
+		else if (x + boxes[b + WIDTH] > boxes[b + X_MAX])
+		{
+			return boxes[b + X_MAX] - boxes[b + WIDTH];
+		}
+		return x;
+	}
+
+	private int clampY(int b, int y)
+	{
+		if (boxes[b + CLAMP] == 0)
+		{
+			return y;
+		}
+
+		if (y < boxes[b + Y_MIN])
+		{
+			return boxes[b + Y_MIN];
+		}
+		else if (y + boxes[b + HEIGHT] > boxes[b + Y_MAX])
+		{
+			return boxes[b + Y_MAX] - boxes[b + HEIGHT];
+		}
+		return y;
+	}
+}
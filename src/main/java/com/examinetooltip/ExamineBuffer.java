@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Ring buffer of the examines being shown, oldest first.
+ * <p>
+ * The buffer itself is only touched by the event handlers. Every change publishes a new immutable
+ * {@link #snapshot()}, which is what the overlay iterates, so rendering never races a change to the buffer.
+ * <p>
+ * Examines are indexed by text to their slot, so a repeated examine replaces the previous one without a scan.
+ * A removed examine leaves an empty slot behind, the ring has room for twice the capacity and is only
+ * compacted once those slots run out.
+ * Each {@link ExamineType} can be capped, in which case its oldest examine makes room for the new one.
+ * When the buffer is full, the oldest examine of the lowest priority is evicted, as long as that priority
+ * is not higher than the new examine's, otherwise the new examine is rejected.
+ */
+public class ExamineBuffer implements Iterable<ExamineTextTime>
+{
+	private static final ExamineTextTime[] EMPTY = new ExamineTextTime[0];
+
+	private ExamineTextTime[] entries;
+	private int capacity;
+	private int head;
+	// Slots in use from the head, including the empty slots of removed examines
+	private int used;
+	private int size;
+
+	private final Map<String, Integer> textIndex = new HashMap<>();
+	private final int[] typeCounts = new int[ExamineType.values().length];
+
+	private volatile ExamineTextTime[] snapshot = EMPTY;
+
+	public ExamineBuffer(int capacity)
+	{
+		this.capacity = Math.max(1, capacity);
+		entries = new ExamineTextTime[this.capacity * 2];
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Gets the examines as of the last change, oldest first. The array is shared and must not be modified.
+	 */
+	public ExamineTextTime[] snapshot()
+	{
+		return snapshot;
+	}
+
+	/**
+	 * Adds an examine, replacing any examine with the same text and evicting as needed.
+	 * @param examine The examine, with its type and text set.
+	 * @return Whether the examine was added, false if the buffer is full of higher priority examines.
+	 */
+	public boolean add(ExamineTextTime examine)
+	{
+		final Integer duplicate = textIndex.get(examine.getText());
+		if (duplicate != null)
+		{
+			removeSlot(duplicate);
+		}
+
+		final ExamineType type = examine.getType();
+		if (type.getMaxShown() > 0 && typeCounts[type.ordinal()] >= type.getMaxShown())
+		{
+			removeSlot(slotOfOldest(type));
+		}
+		else if (size == capacity)
+		{
+			final int victim = slotOfEvictable(type.getPriority());
+			if (victim < 0)
+			{
+				return false;
+			}
+			removeSlot(victim);
+		}
+
+		if (used == entries.length)
+		{
+			compact();
+		}
+
+		final int slot = slot(used++);
+		entries[slot] = examine;
+		size++;
+		typeCounts[type.ordinal()]++;
+		textIndex.put(examine.getText(), slot);
+		publish();
+		return true;
+	}
+
+	/**
+	 * Removes the examines that are past their deadline.
+	 * @param now The current {@link System#nanoTime()}.
+	 */
+	public void removeExpired(long now)
+	{
+		int kept = 0;
+		for (int i = 0; i < used; i++)
+		{
+			final ExamineTextTime examine = entries[slot(i)];
+			if (examine == null)
+			{
+				continue;
+			}
+
+			entries[slot(i)] = null;
+			if (examine.isExpired(now))
+			{
+				examine.getRenderState().clear();
+				unindex(examine);
+			}
+			else
+			{
+				entries[slot(kept)] = examine;
+				textIndex.put(examine.getText(), slot(kept));
+				kept++;
+			}
+		}
+
+		used = kept;
+		if (kept == size)
+		{
+			return;
+		}
+
+		size = kept;
+		publish();
+	}
+
+	/**
+	 * Changes how many examines can be shown at once, dropping the oldest ones if there are too many.
+	 */
+	public void setCapacity(int capacity)
+	{
+		capacity = Math.max(1, capacity);
+		if (capacity == this.capacity)
+		{
+			return;
+		}
+
+		while (size > capacity)
+		{
+			// The head is never an empty slot
+			removeSlot(head);
+		}
+
+		final ExamineTextTime[] resized = new ExamineTextTime[capacity * 2];
+		int kept = 0;
+		for (int i = 0; i < used; i++)
+		{
+			final ExamineTextTime examine = entries[slot(i)];
+			if (examine != null)
+			{
+				resized[kept] = examine;
+				textIndex.put(examine.getText(), kept);
+				kept++;
+			}
+		}
+		entries = resized;
+		this.capacity = capacity;
+		head = 0;
+		used = kept;
+		publish();
+	}
+
+	public void clear()
+	{
+		Arrays.fill(entries, null);
+		head = 0;
+		used = 0;
+		size = 0;
+		textIndex.clear();
+		Arrays.fill(typeCounts, 0);
+		snapshot = EMPTY;
+	}
+
+	@Override
+	public Iterator<ExamineTextTime> iterator()
+	{
+		return new Iterator<ExamineTextTime>()
+		{
+			private int next = skipEmpty(0);
+
+			@Override
+			public boolean hasNext()
+			{
+				return next < used;
+			}
+
+			@Override
+			public ExamineTextTime next()
+			{
+				if (next >= used)
+				{
+					throw new NoSuchElementException();
+				}
+				final ExamineTextTime examine = entries[slot(next)];
+				next = skipEmpty(next + 1);
+				return examine;
+			}
+		};
+	}
+
+	private void publish()
+	{
+		final ExamineTextTime[] copy = new ExamineTextTime[size];
+		int n = 0;
+		for (int i = 0; i < used; i++)
+		{
+			final ExamineTextTime examine = entries[slot(i)];
+			if (examine != null)
+			{
+				copy[n++] = examine;
+			}
+		}
+		snapshot = copy;
+	}
+
+	private int slot(int index)
+	{
+		return (head + index) % entries.length;
+	}
+
+	private int skipEmpty(int index)
+	{
+		while (index < used && entries[slot(index)] == null)
+		{
+			index++;
+		}
+		return index;
+	}
+
+	private int slotOfOldest(ExamineType type)
+	{
+		for (int i = 0; i < used; i++)
+		{
+			final ExamineTextTime examine = entries[slot(i)];
+			if (examine != null && examine.getType() == type)
+			{
+				return slot(i);
+			}
+		}
+		return -1;
+	}
+
+	private int slotOfEvictable(int maxPriority)
+	{
+		int victim = -1;
+		int victimPriority = Integer.MAX_VALUE;
+		for (int i = 0; i < used; i++)
+		{
+			final ExamineTextTime examine = entries[slot(i)];
+			if (examine == null)
+			{
+				continue;
+			}
+
+			final int priority = examine.getType().getPriority();
+			if (priority <= maxPriority && priority < victimPriority)
+			{
+				victim = slot(i);
+				victimPriority = priority;
+			}
+		}
+		return victim;
+	}
+
+	private void removeSlot(int slot)
+	{
+		final ExamineTextTime removed = entries[slot];
+		entries[slot] = null;
+		size--;
+		unindex(removed);
+
+		// Keep both ends on an examine, so dropping the oldest or newest examine frees its slot right away
+		while (used > 0 && entries[head] == null)
+		{
+			head = (head + 1) % entries.length;
+			used--;
+		}
+		while (used > 0 && entries[slot(used - 1)] == null)
+		{
+			used--;
+		}
+	}
+
+	/**
+	 * Moves the examines over the empty slots left by removed examines.
+	 * The ring holds twice the capacity, so this runs at most once every capacity additions.
+	 */
+	private void compact()
+	{
+		int kept = 0;
+		for (int i = 0; i < used; i++)
+		{
+			final ExamineTextTime examine = entries[slot(i)];
+			if (examine != null)
+			{
+				entries[slot(i)] = null;
+				entries[slot(kept)] = examine;
+				textIndex.put(examine.getText(), slot(kept));
+				kept++;
+			}
+		}
+		used = kept;
+	}
+
+	private void unindex(ExamineTextTime examine)
+	{
+		typeCounts[examine.getType().ordinal()]--;
+		textIndex.remove(examine.getText());
+	}
+}
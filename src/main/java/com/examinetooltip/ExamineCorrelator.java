@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+
+/**
+ * Pairs examine responses from the chat with the menu clicks that caused them.
+ * <p>
+ * Clicks are queued per {@link ExamineType} and stamped with the game tick, so a response only takes
+ * the oldest click of its own type and a mismatch does not throw away the other pending clicks.
+ * Clicks that got no response after a few ticks are dropped, and each queue has a fixed size.
+ * <p>
+ * Responses are matched as soon as they arrive rather than batched per tick. A click is always queued
+ * before its response, and responses of the same type arrive in click order, so the oldest click of the
+ * type is already the right one. Waiting for the next game tick would only delay the tooltip.
+ */
+@Singleton
+public class ExamineCorrelator
+{
+	private static final int MAX_PENDING = 8;
+	private static final int MAX_PENDING_TICKS = 5;
+
+	// Patch inspects require the player to move up to the patch first, only the last one is kept
+	private static final int MAX_PENDING_PATCH_INSPECTS = 1;
+	private static final int MAX_PENDING_PATCH_INSPECT_TICKS = 100;
+
+	@Inject
+	private Client client;
+
+	private final PendingQueue[] queues = new PendingQueue[ExamineType.values().length];
+	private long sequence;
+
+	private static class PendingQueue
+	{
+		private final ExamineTextTime[] clicks;
+		private final int[] ticks;
+		private final long[] sequences;
+		private final int maxTicks;
+		private int head;
+		private int size;
+
+		private PendingQueue(int capacity, int maxTicks)
+		{
+			clicks = new ExamineTextTime[capacity];
+			ticks = new int[capacity];
+			sequences = new long[capacity];
+			this.maxTicks = maxTicks;
+		}
+
+		private void offer(ExamineTextTime click, int tick, long sequence)
+		{
+			if (size == clicks.length)
+			{
+				poll();
+			}
+
+			final int i = (head + size) % clicks.length;
+			clicks[i] = click;
+			ticks[i] = tick;
+			sequences[i] = sequence;
+			size++;
+		}
+
+		private ExamineTextTime poll()
+		{
+			final ExamineTextTime click = clicks[head];
+			clicks[head] = null;
+			head = (head + 1) % clicks.length;
+			size--;
+			return click;
+		}
+
+		private void expire(int tick)
+		{
+			while (size > 0 && tick - ticks[head] > maxTicks)
+			{
+				poll();
+			}
+		}
+
+		/**
+		 * @return The sequence number of the oldest click, or {@link Long#MAX_VALUE} if there is none.
+		 */
+		private long peekSequence()
+		{
+			return size > 0 ? sequences[head] : Long.MAX_VALUE;
+		}
+
+		private void clear()
+		{
+			while (size > 0)
+			{
+				poll();
+			}
+			head = 0;
+		}
+	}
+
+	public ExamineCorrelator()
+	{
+		for (ExamineType type : ExamineType.values())
+		{
+			if (type == ExamineType.PATCH_INSPECT)
+			{
+				queues[type.ordinal()] = new PendingQueue(MAX_PENDING_PATCH_INSPECTS, MAX_PENDING_PATCH_INSPECT_TICKS);
+			}
+			else if (!type.isTooltipOnly())
+			{
+				queues[type.ordinal()] = new PendingQueue(MAX_PENDING, MAX_PENDING_TICKS);
+			}
+		}
+	}
+
+	/**
+	 * Queues a click waiting for its examine response, dropping the oldest click of the same type if there are too many.
+	 * @param click The examine to fill in once the response arrives.
+	 */
+	public void offer(ExamineTextTime click)
+	{
+		queues[click.getType().ordinal()].offer(click, client.getTickCount(), sequence++);
+	}
+
+	/**
+	 * Takes the oldest pending click matching an examine response.
+	 * @param type The type of the response, as classified from the chat message.
+	 * @return The click, or null if there is no pending click for that response.
+	 */
+	public ExamineTextTime poll(ExamineType type)
+	{
+		final PendingQueue queue = queues[type.ordinal()];
+		if (queue == null)
+		{
+			return null;
+		}
+
+		final int tick = client.getTickCount();
+		queue.expire(tick);
+
+		// Since we can't tell on the receiving end if an ITEM_EXAMINE is for interface items or ground items,
+		// it goes to whichever of the two was clicked first
+		if (type == ExamineType.ITEM_INTERFACE)
+		{
+			final PendingQueue groundQueue = queues[ExamineType.ITEM_GROUND.ordinal()];
+			groundQueue.expire(tick);
+			if (groundQueue.peekSequence() < queue.peekSequence())
+			{
+				return groundQueue.poll();
+			}
+		}
+
+		return queue.size > 0 ? queue.poll() : null;
+	}
+
+	/**
+	 * Drops the clicks that went unanswered for too long, called once per game tick.
+	 */
+	public void expire()
+	{
+		final int tick = client.getTickCount();
+		for (PendingQueue queue : queues)
+		{
+			if (queue != null)
+			{
+				queue.expire(tick);
+			}
+		}
+	}
+
+	public void clear()
+	{
+		for (PendingQueue queue : queues)
+		{
+			if (queue != null)
+			{
+				queue.clear();
+			}
+		}
+	}
+}
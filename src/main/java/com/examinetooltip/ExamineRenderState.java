@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.widgets.Widget;
+
+/**
+ * What the overlay remembers about an examine between frames.
+ * Each examine owns exactly one of these, so looking it up needs no hashing.
+ */
+@Getter
+@Setter
+public class ExamineRenderState
+{
+	public static final int UNKNOWN_ITEM = Integer.MIN_VALUE;
+
+	/**
+	 * The size of the examine box, as laid out when the examine came in and then as last drawn.
+	 */
+	private Dimension dimension;
+
+	/**
+	 * The last known screen bounds of the examined target.
+	 */
+	private Rectangle bounds;
+
+	/**
+	 * The widget of an interface examine, resolved once and dropped when its interface is closed or loaded again.
+	 */
+	private Widget widget;
+
+	/**
+	 * The parent holding the widget as one of its children, or null if the examine is for the widget itself.
+	 */
+	private Widget widgetParent;
+
+	/**
+	 * The item the widget showed when it was first resolved, so a slot that now shows something else is not used.
+	 */
+	private int widgetItemId = UNKNOWN_ITEM;
+
+	/**
+	 * Where the box was placed by the last layout pass, if it was placed at all.
+	 */
+	private boolean placed;
+	private int placedX;
+	private int placedY;
+
+	public void clear()
+	{
+		dimension = null;
+		bounds = null;
+		widget = null;
+		widgetParent = null;
+		widgetItemId = UNKNOWN_ITEM;
+		placed = false;
+	}
+}
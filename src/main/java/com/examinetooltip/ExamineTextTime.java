@@ -25,10 +25,13 @@
  */
 package com.examinetooltip;
 
-import java.time.Instant;
-import lombok.Data;
+import com.examinetooltip.components.TooltipDocument;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
 
-@Data
+@Getter
+@Setter
 public class ExamineTextTime
 {
 	private ExamineType type;
@@ -36,6 +39,44 @@ public class ExamineTextTime
 	private int widgetId;
 	private int actionParam;
 
+	/**
+	 * The ID of the world view the examined NPC or object is in, as the scene coordinates are relative to it.
+	 */
+	private int worldViewId;
+
 	private String text;
-	private Instant time;
+	private TooltipDocument document;
+
+	/**
+	 * {@link System#nanoTime()} deadline after which the examine is no longer shown.
+	 */
+	private long expiresAt;
+
+	/**
+	 * How long the examine fades out before expiring, in nanoseconds.
+	 */
+	private long fadeDuration;
+
+	@Setter(AccessLevel.NONE)
+	private final ExamineRenderState renderState = new ExamineRenderState();
+
+	public boolean isExpired(long now)
+	{
+		return now - expiresAt >= 0;
+	}
+
+	/**
+	 * Gets the opacity of the examine at the given time, going from 1.0 down to 0.0 during the fadeout.
+	 * @param now The current {@link System#nanoTime()}.
+	 * @return The alpha modifier of the examine.
+	 */
+	public double getAlpha(long now)
+	{
+		final long timeLeft = expiresAt - now;
+		if (fadeDuration > 0 && timeLeft < fadeDuration)
+		{
+			return Math.max(0.0, timeLeft / (double) fadeDuration);
+		}
+		return 1.0;
+	}
 }
@@ -40,6 +40,11 @@ public interface ExamineTooltipConfig extends Config
 	String CONFIG_GROUP = "examinetooltip";
 	String ITEM_EXAMINES_KEY_NAME = "showItemExamines";
 	String OVERLAY_LAYER_KEY_NAME = "overlayLayer";
+	String WRAP_KEY_NAME_PREFIX = "wrapTooltip";
+	String ANCHOR_STRATEGY_KEY_NAME = "anchorStrategy";
+	String MAX_EXAMINES_KEY_NAME = "maxExamines";
+	int DEFAULT_MAX_EXAMINES = 5;
+	String CUSTOM_CHAT_RULES_KEY_NAME = "customChatRules";
 
 	@ConfigSection(
 		name = "RS3 examine settings",
@@ -130,6 +135,18 @@ public interface ExamineTooltipConfig extends Config
 		return TooltipOverlayLayer.ALWAYS_ON_TOP;
 	}
 
+	@ConfigItem(
+		keyName = ANCHOR_STRATEGY_KEY_NAME,
+		name = "Anchor mode",
+		description = "How to find where to place the RS3 examine boxes. 'Fast' uses the tiles under the examined target instead of its model outline, which is much cheaper on slower computers",
+		position = 15,
+		section = rs3ExamineSettings
+	)
+	default AnchorStrategy anchorStrategy()
+	{
+		return AnchorStrategy.CONVEX_HULL;
+	}
+
 	@ConfigItem(
 		keyName = "showPriceCheck",
 		name = "Show price check",
@@ -256,11 +273,23 @@ public interface ExamineTooltipConfig extends Config
 		return true;
 	}
 
+	@ConfigItem(
+		keyName = "wrapTooltipMode",
+		name = "Wrap mode",
+		description = "Wrap the text after a number of columns, or once it gets wider than a number of pixels (gives tighter boxes)",
+		position = 34,
+		section = displaySettings
+	)
+	default TooltipWrapMode wrapTooltipMode()
+	{
+		return TooltipWrapMode.COLUMNS;
+	}
+
 	@ConfigItem(
 		keyName = "wrapTooltipColumns",
 		name = "Wrap columns",
 		description = "How many text columns (or characters) before wrapping the text",
-		position = 34,
+		position = 35,
 		section = displaySettings
 	)
 	@Range(
@@ -271,16 +300,60 @@ public interface ExamineTooltipConfig extends Config
 		return 30;
 	}
 
+	@ConfigItem(
+		keyName = "wrapTooltipWidth",
+		name = "Wrap width",
+		description = "How wide the text can get before wrapping, when using the pixel width wrap mode",
+		position = 36,
+		section = displaySettings
+	)
+	@Units(Units.PIXELS)
+	@Range(
+		min = 100
+	)
+	default int wrapTooltipWidth()
+	{
+		return 200;
+	}
+
 	@Alpha
 	@ConfigItem(
 		keyName = "customBackgroundColor",
 		name = "Custom background color",
 		description = "Use a custom background color instead of the globally configured overlay background default",
-		position = 35,
+		position = 37,
 		section = displaySettings
 	)
 	Color customBackgroundColor();
 
+	@ConfigItem(
+		keyName = "cacheTooltipImages",
+		name = "Cache tooltip images",
+		description = "Draw each examine box once and reuse the image every frame, fading it as a whole. Uses less CPU, but fading text may look slightly different",
+		position = 38,
+		section = displaySettings
+	)
+	default boolean cacheTooltipImages()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = MAX_EXAMINES_KEY_NAME,
+		name = "Max examines",
+		description = "How many examines can be shown at once, the oldest ones make room for new ones",
+		position = 39,
+		section = displaySettings
+	)
+	@Range(
+		min = 1,
+		max = 20
+	)
+	default int maxExamines()
+	{
+		return DEFAULT_MAX_EXAMINES;
+	}
+
 	@ConfigItem(
 		keyName = "showPluginHubPatchPayment",
 		name = "PolishToaster's Patch Payment",
@@ -292,4 +365,18 @@ public interface ExamineTooltipConfig extends Config
 	{
 		return true;
 	}
+
+	@ConfigItem(
+		keyName = CUSTOM_CHAT_RULES_KEY_NAME,
+		name = "Custom message rules",
+		description = "Show other chat messages as examines, one rule per line: 'message type;examine type;match'.<br>"
+			+ "The match is a message prefix or a /regex/. Use CUSTOM_MESSAGE as the examine type to show the message as a cursor tooltip,<br>"
+			+ "e.g. GAMEMESSAGE;CUSTOM_MESSAGE;Your reward is",
+		position = 51,
+		section = pluginHubCompatibility
+	)
+	default String customChatRules()
+	{
+		return "";
+	}
 }
@@ -1,19 +1,15 @@
 package com.examinetooltip;
 
 import com.examinetooltip.components.AlphaTooltipComponent;
-import com.google.common.collect.ImmutableSet;
+import com.examinetooltip.components.TooltipBatch;
+import com.examinetooltip.components.TooltipDocument;
+import com.examinetooltip.components.TooltipImageCache;
 import com.google.inject.Inject;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.Shape;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.DecorativeObject;
 import net.runelite.api.GameObject;
@@ -21,7 +17,6 @@ import net.runelite.api.GroundObject;
 import net.runelite.api.ItemLayer;
 import net.runelite.api.NPC;
 import net.runelite.api.Node;
-import net.runelite.api.ObjectComposition;
 import net.runelite.api.Perspective;
 import net.runelite.api.Tile;
 import net.runelite.api.TileItem;
@@ -31,39 +26,40 @@ import net.runelite.api.WorldView;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetUtil;
-import net.runelite.client.config.RuneLiteConfig;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayPosition;
 import net.runelite.client.ui.overlay.components.LayoutableRenderableEntity;
 import net.runelite.client.ui.overlay.tooltip.Tooltip;
 import net.runelite.client.ui.overlay.tooltip.TooltipManager;
-import org.apache.commons.text.WordUtils;
 
 public class ExamineTooltipOverlay extends Overlay
 {
 	private final static int SCREEN_PADDING = 5;
 	private final static int EXAMINE_PADDING = 10;
-
-	private final static Set<ExamineType> TOOLTIP_ONLY_EXAMINE_TYPES =
-		ImmutableSet.of(ExamineType.PRICE_CHECK, ExamineType.PLUGIN_HUB_PATCH_PAYMENT);
+	// How far off the viewport the center of a target can be before it is considered offscreen
+	private final static int OFFSCREEN_MARGIN = 100;
 
 	@Inject
 	private TooltipManager tooltipManager;
 
 	@Inject
-	private ExamineTooltipConfig config;
+	private ExamineTooltipPlugin plugin;
 
 	@Inject
-	private ExamineTooltipPlugin plugin;
+	private Client client;
 
 	@Inject
-	private RuneLiteConfig runeLiteConfig;
+	private ObjectImpostorIndex impostorIndex;
 
 	@Inject
-	private Client client;
+	private SceneObjectIndex sceneObjectIndex;
 
-	private final Map<ExamineTextTime, Dimension> dimMap = new HashMap<>();
-	private final Map<ExamineTextTime, Rectangle> rectMap = new HashMap<>();
+	@Inject
+	private AnchorCache anchorCache;
+
+	private final TooltipImageCache imageCache = new TooltipImageCache();
+	private final ExamineBoxLayout boxLayout = new ExamineBoxLayout();
+	private final TooltipBatch batch = new TooltipBatch();
 
 	public ExamineTooltipOverlay()
 	{
@@ -74,147 +70,115 @@ public class ExamineTooltipOverlay extends Overlay
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		Instant now = Instant.now();
-		Duration defaultTimeout = Duration.ofSeconds(config.tooltipTimeout());
-		Duration patchTimeout = Duration.ofSeconds(defaultTimeout.getSeconds() + config.patchInspectExtraTime());
-		boolean shouldClearDimMap = !dimMap.isEmpty();
-		boolean shouldClearRectMap = !rectMap.isEmpty();
-
-		for (ExamineTextTime examine : plugin.getExamines())
+		final ExamineTextTime[] examines = plugin.getLiveExamines();
+		if (examines.length == 0)
 		{
-			Duration since = Duration.between(examine.getTime(), now);
-			Duration timeout;
+			return null;
+		}
 
-			if (examine.getType() == ExamineType.PATCH_INSPECT)
+		final long now = System.nanoTime();
+
+		anchorCache.beginFrame();
+		boxLayout.begin();
+		final ExamineTooltipSettings settings = plugin.getSettings();
+
+		for (ExamineTextTime examine : examines)
+		{
+			if (examine.isExpired(now))
 			{
-				timeout = patchTimeout;
+				continue;
 			}
-			else
+
+			final double alpha = examine.getAlpha(now);
+
+			if (!settings.isRs3Style() || examine.getType().isTooltipOnly())
 			{
-				timeout = defaultTimeout;
+				renderAsTooltip(examine, settings, alpha);
 			}
-
-			if (since.compareTo(timeout) < 0)
+			else
 			{
-				long timeLeft = (timeout.minus(since)).toMillis();
-				int fadeout = config.tooltipFadeout();
-				double alpha;
-				if (timeLeft < fadeout && fadeout > 0)
-				{
-					alpha = Math.min(1.0, timeLeft / (double) fadeout);
-				}
-				else
-				{
-					alpha = 1.0;
-				}
-
-				if (!config.rs3Style() || TOOLTIP_ONLY_EXAMINE_TYPES.contains(examine.getType()))
-				{
-					renderAsTooltip(examine, alpha);
-				}
-				else
-				{
-					renderAsRS3(examine, graphics, alpha);
-					shouldClearDimMap = false;
-					shouldClearRectMap = false;
-				}
+				addRS3Box(examine, settings, alpha);
 			}
 		}
 
-		if (shouldClearDimMap || dimMap.size() > 10)
+		// Boxes are placed together so they can be kept from overlapping each other
+		boxLayout.layout();
+		if (settings.isCacheTooltipImages())
 		{
-			dimMap.clear();
+			// Cached boxes are a single image draw each, there is nothing to batch
+			for (int i = 0; i < boxLayout.size(); i++)
+			{
+				final ExamineTextTime examine = boxLayout.get(i);
+				renderAsRS3(examine, settings, graphics, examine.getAlpha(now));
+			}
 		}
-
-		if (shouldClearRectMap || rectMap.size() > 10)
+		else
 		{
-			rectMap.clear();
+			renderRS3Batch(settings, graphics, now);
 		}
 
 		return null;
 	}
 
-	private LayoutableRenderableEntity getRenderableEntity(ExamineTextTime examine, double alphaModifier)
+	private LayoutableRenderableEntity getRenderableEntity(ExamineTextTime examine, ExamineTooltipSettings settings,
+		double alphaModifier)
 	{
 		final AlphaTooltipComponent tooltipComponent = new AlphaTooltipComponent();
-		tooltipComponent.setText(getWrappedText(examine.getText()));
+		tooltipComponent.setDocument(examine.getDocument());
 		tooltipComponent.setModIcons(client.getModIcons());
 		tooltipComponent.setAlphaModifier(alphaModifier);
 
-		if (config.customBackgroundColor() != null)
+		if (settings.isCacheTooltipImages())
 		{
-			tooltipComponent.setBackgroundColor(config.customBackgroundColor());
-		}
-		else
-		{
-			tooltipComponent.setBackgroundColor(runeLiteConfig.overlayBackgroundColor());
+			tooltipComponent.setImageCache(imageCache);
 		}
 
+		tooltipComponent.setBackgroundColor(settings.getBackgroundColor());
+
 		return tooltipComponent;
 	}
 
-	private void renderAsTooltip(ExamineTextTime examine, double alphaModifier)
+	public void clearImageCache()
 	{
-		tooltipManager.add(new Tooltip(getRenderableEntity(examine, alphaModifier)));
+		imageCache.clear();
 	}
 
-	private void renderAsRS3(ExamineTextTime examine, Graphics2D graphics, double alphaModifier)
+	private void renderAsTooltip(ExamineTextTime examine, ExamineTooltipSettings settings, double alphaModifier)
+	{
+		tooltipManager.add(new Tooltip(getRenderableEntity(examine, settings, alphaModifier)));
+	}
+
+	/**
+	 * Finds where the RS3 box of an examine wants to be and adds it to the layout of this frame.
+	 * Falls back to a tooltip if the target cannot be found.
+	 */
+	private void addRS3Box(ExamineTextTime examine, ExamineTooltipSettings settings, double alphaModifier)
 	{
 		ExamineType type = examine.getType();
 		Rectangle bounds = null;
-		WorldView wv = client.getTopLevelWorldView();
+		WorldView wv;
 		switch (type)
 		{
 			case NPC:
-				final NPC npc = wv.npcs().byIndex(examine.getId());
-				if (npc != null)
+				wv = getWorldView(examine);
+				if (wv != null)
 				{
-					Shape shape = npc.getConvexHull();
-					if (shape != null)
-					{
-						bounds = shape.getBounds();
-					}
+					bounds = findNpcBounds(examine, settings, wv);
 				}
 				break;
 
 			case ITEM_INTERFACE:
-				bounds = findWidgetBounds(examine.getWidgetId(), examine.getActionParam());
+				bounds = findWidgetBounds(examine);
 				break;
 
 			case PATCH_INSPECT:
 			case ITEM_GROUND:
 			case OBJECT:
-				// Yes, for these, ActionParam and WidgetID are scene coordinates
-				LocalPoint point = LocalPoint.fromScene(examine.getActionParam(), examine.getWidgetId(), wv);
-				int id = examine.getId();
-
-				Tile tile = wv.getScene().getTiles()
-					[wv.getPlane()][point.getSceneX()][point.getSceneY()];
-
-				if (tile != null)
+				wv = getWorldView(examine);
+				if (wv != null)
 				{
-					Shape shape = getObjectShapeFromTile(tile, type, id);
-					if (shape == null)
-					{
-						Tile bridge = tile.getBridge();
-						if (bridge != null)
-						{
-							shape = getObjectShapeFromTile(bridge, type, id);
-						}
-					}
-
-					if (shape == null)
-					{
-						// Fallback to tile
-						shape = Perspective.getCanvasTilePoly(client, point);
-					}
-
-					if (shape != null)
-					{
-						bounds = shape.getBounds();
-					}
+					bounds = findObjectBounds(examine, settings, wv);
 				}
-
 				break;
 
 			default:
@@ -222,17 +186,17 @@ public class ExamineTooltipOverlay extends Overlay
 		}
 
 		// Try previously known location
-		if (bounds == null && config.previousBoundsFallback())
+		if (bounds == null && settings.isPreviousBoundsFallback())
 		{
-			bounds = rectMap.get(examine);
+			bounds = examine.getRenderState().getBounds();
 		}
 
 		// Give up and render as tooltip if target not found
 		if (bounds == null)
 		{
-			if (config.tooltipFallback())
+			if (settings.isTooltipFallback())
 			{
-				renderAsTooltip(examine, alphaModifier);
+				renderAsTooltip(examine, settings, alphaModifier);
 			}
 			return;
 		}
@@ -248,103 +212,260 @@ public class ExamineTooltipOverlay extends Overlay
 			y += EXAMINE_PADDING;
 		}
 
-		final LayoutableRenderableEntity tooltipComponent = getRenderableEntity(examine, alphaModifier);
+		final ExamineRenderState renderState = examine.getRenderState();
+		renderState.setBounds(bounds);
 
-		if (isInterfaceExamine || config.clampRS3())
+		final Dimension dim = renderState.getDimension();
+		final int width = dim != null ? dim.width : 0;
+		final int height = dim != null ? dim.height : 0;
+
+		int xMin, xMax, yMin, yMax;
+		if (isInterfaceExamine)
+		{
+			xMin = 0;
+			xMax = client.getCanvasWidth();
+			yMin = 0;
+			yMax = client.getCanvasHeight();
+		}
+		else
 		{
-			Dimension dim = dimMap.get(examine);
-			if (dim != null)
+			xMin = client.getViewportXOffset();
+			xMax = client.getViewportWidth() + xMin;
+			yMin = client.getViewportYOffset();
+			yMax = client.getViewportHeight() + yMin;
+		}
+
+		boxLayout.add(examine, x, y, width, height, isInterfaceExamine || settings.isClampRS3(),
+			xMin + SCREEN_PADDING, xMax - SCREEN_PADDING, yMin + SCREEN_PADDING, yMax - SCREEN_PADDING);
+	}
+
+	private void renderRS3Batch(ExamineTooltipSettings settings, Graphics2D graphics, long now)
+	{
+		batch.begin();
+		batch.setBackgroundColor(settings.getBackgroundColor());
+		batch.setModIcons(client.getModIcons());
+
+		for (int i = 0; i < boxLayout.size(); i++)
+		{
+			final ExamineTextTime examine = boxLayout.get(i);
+			final ExamineRenderState renderState = examine.getRenderState();
+			final TooltipDocument document = examine.getDocument();
+
+			// Only happens if the overlay font is not the tooltip font the examine was laid out with
+			if (!document.isMeasuredWith(graphics.getFont()))
 			{
-				int xMin, xMax, yMin, yMax;
+				document.measure(graphics.getFontMetrics());
+				renderState.setDimension(AlphaTooltipComponent.getBoxSize(document));
+			}
 
-				if (isInterfaceExamine)
-				{
-					xMin = 0;
-					xMax = client.getCanvasWidth();
-					yMin = 0;
-					yMax = client.getCanvasHeight();
-				}
-				else
-				{
-					xMin = client.getViewportXOffset();
-					xMax = client.getViewportWidth() + xMin;
-					yMin = client.getViewportYOffset();
-					yMax = client.getViewportHeight() + yMin;
-				}
+			batch.add(document, renderState.getPlacedX(), renderState.getPlacedY(), examine.getAlpha(now));
+		}
 
-				xMin += SCREEN_PADDING;
-				xMax -= SCREEN_PADDING;
-				yMin += SCREEN_PADDING;
-				yMax -= SCREEN_PADDING;
+		batch.draw(graphics);
+	}
 
-				if (x < xMin)
-				{
-					x = xMin;
-				}
-				else if (x + dim.width > xMax)
-				{
-					x = xMax - dim.width;
-				}
+	private void renderAsRS3(ExamineTextTime examine, ExamineTooltipSettings settings, Graphics2D graphics,
+		double alphaModifier)
+	{
+		final ExamineRenderState renderState = examine.getRenderState();
+		final LayoutableRenderableEntity tooltipComponent = getRenderableEntity(examine, settings, alphaModifier);
+		tooltipComponent.setPreferredLocation(new Point(renderState.getPlacedX(), renderState.getPlacedY()));
+		renderState.setDimension(tooltipComponent.render(graphics));
+	}
+
+	/**
+	 * Gets the world view the examined target is in, or null if it is no longer loaded.
+	 */
+	private WorldView getWorldView(ExamineTextTime examine)
+	{
+		final WorldView topLevel = client.getTopLevelWorldView();
+		if (topLevel == null || examine.getWorldViewId() == topLevel.getId())
+		{
+			return topLevel;
+		}
+
+		return client.getWorldView(examine.getWorldViewId());
+	}
+
+	private Rectangle findNpcBounds(ExamineTextTime examine, ExamineTooltipSettings settings, WorldView wv)
+	{
+		final NPC npc = wv.npcs().byIndex(examine.getId());
+		if (npc == null)
+		{
+			return null;
+		}
+
+		final LocalPoint location = npc.getLocalLocation();
+		final AnchorCache.Entry anchor = anchorCache.getEntry(examine);
+		// Other world views can move on their own, so their targets are projected again every frame
+		if (!wv.isTopLevel() || anchor.updateState(location.getX(), location.getY(), npc.getOrientation(),
+			npc.getAnimation(), npc.getAnimationFrame(), npc.getPoseAnimationFrame()))
+		{
+			Shape shape = null;
+			if (isInViewport(location, wv.getPlane()))
+			{
+				shape = settings.getAnchorStrategy() == AnchorStrategy.FAST ? npc.getCanvasTilePoly() : npc.getConvexHull();
+			}
+			anchor.setBounds(shape != null ? shape.getBounds() : null);
+		}
+
+		return anchor.getBounds();
+	}
+
+	private Rectangle findObjectBounds(ExamineTextTime examine, ExamineTooltipSettings settings, WorldView wv)
+	{
+		final AnchorCache.Entry anchor = anchorCache.getEntry(examine);
+		// Objects and items only change on game ticks, unless their world view is moving
+		if (!wv.isTopLevel() || anchor.updateState(client.getTickCount(), wv.getPlane(), 0, 0, 0, 0))
+		{
+			anchor.setBounds(computeObjectBounds(examine, settings.getAnchorStrategy(), wv));
+		}
+
+		return anchor.getBounds();
+	}
+
+	private Rectangle computeObjectBounds(ExamineTextTime examine, AnchorStrategy strategy, WorldView wv)
+	{
+		final ExamineType type = examine.getType();
+
+		// Yes, for these, ActionParam and WidgetID are scene coordinates
+		LocalPoint point = LocalPoint.fromScene(examine.getActionParam(), examine.getWidgetId(), wv);
+		int id = examine.getId();
+
+		if (!isInViewport(point, wv.getPlane()))
+		{
+			return null;
+		}
 
-				if (y < yMin)
+		final Tile tile = wv.getScene().getTiles()[wv.getPlane()][point.getSceneX()][point.getSceneY()];
+		final Tile bridge = tile != null ? tile.getBridge() : null;
+
+		Shape shape = getIndexedObjectShape(type, id, strategy, wv.getId(), wv.getPlane(), bridge != null,
+			point.getSceneX(), point.getSceneY());
+		if (shape == null)
+		{
+			// Not indexed (e.g. transformed objects or plugin started mid-scene), search the tile
+			if (tile != null)
+			{
+				shape = getObjectShapeFromTile(tile, type, id, strategy);
+				if (shape == null && bridge != null)
 				{
-					y = yMin;
+					shape = getObjectShapeFromTile(bridge, type, id, strategy);
 				}
-				else if (y + dim.height > yMax)
+
+				if (shape == null)
 				{
-					y = yMax - dim.height;
+					// Fallback to tile
+					shape = Perspective.getCanvasTilePoly(client, point);
 				}
 			}
 		}
 
-		tooltipComponent.setPreferredLocation(new Point(x, y));
-		dimMap.put(examine, tooltipComponent.render(graphics));
-		rectMap.put(examine, bounds);
+		return shape != null ? shape.getBounds() : null;
 	}
 
-	private String getWrappedText(String text)
+	/**
+	 * Cheaply checks whether the given point projects inside the viewport (with some margin),
+	 * before doing any convex hull work for a target there.
+	 */
+	private boolean isInViewport(LocalPoint point, int plane)
 	{
-		if (config.wrapTooltip())
-		{
-			return WordUtils.wrap(text, config.wrapTooltipColumns(), "</br>", false);
-		}
-		else
+		final net.runelite.api.Point canvasPoint = Perspective.localToCanvas(client, point, plane);
+		if (canvasPoint == null)
 		{
-			return text;
+			// Behind the camera
+			return false;
 		}
+
+		final int xMin = client.getViewportXOffset();
+		final int yMin = client.getViewportYOffset();
+		final int x = canvasPoint.getX();
+		final int y = canvasPoint.getY();
+
+		return x >= xMin - OFFSCREEN_MARGIN && x <= xMin + client.getViewportWidth() + OFFSCREEN_MARGIN
+			&& y >= yMin - OFFSCREEN_MARGIN && y <= yMin + client.getViewportHeight() + OFFSCREEN_MARGIN;
 	}
 
-	private Rectangle findWidgetBounds(int widgetId, int actionParam)
+	private Rectangle findWidgetBounds(ExamineTextTime examine)
 	{
-		Widget widget = client.getWidget(WidgetUtil.componentToInterface(widgetId), WidgetUtil.componentToId(widgetId));
+		final ExamineRenderState renderState = examine.getRenderState();
+		final int actionParam = examine.getActionParam();
+		Widget widget = renderState.getWidget();
+
+		// The bank and inventory rebuild their children without loading the interface again,
+		// so a resolved child is only used while its parent still holds it in the same slot
+		if (widget != null && actionParam >= 0 && getChild(renderState.getWidgetParent(), actionParam) != widget)
+		{
+			widget = null;
+		}
 
 		if (widget == null)
+		{
+			final int widgetId = examine.getWidgetId();
+			final Widget parent = client.getWidget(WidgetUtil.componentToInterface(widgetId), WidgetUtil.componentToId(widgetId));
+			widget = actionParam < 0 ? parent : getChild(parent, actionParam);
+			if (widget == null)
+			{
+				return null;
+			}
+
+			renderState.setWidget(widget);
+			renderState.setWidgetParent(actionParam < 0 ? null : parent);
+			if (renderState.getWidgetItemId() == ExamineRenderState.UNKNOWN_ITEM)
+			{
+				renderState.setWidgetItemId(widget.getItemId());
+			}
+		}
+
+		// The bounds are computed from the widget tree, so they follow scrolling without another lookup
+		if (widget.isHidden() || widget.getItemId() != renderState.getWidgetItemId())
 		{
 			return null;
 		}
 
-		if (actionParam < 0)
+		return widget.getBounds();
+	}
+
+	private static Widget getChild(Widget parent, int index)
+	{
+		if (parent == null)
 		{
-			return widget.getBounds();
+			return null;
 		}
 
-		try
+		final Widget[] children = parent.getChildren();
+		if (children == null || index >= children.length)
 		{
-			Widget widgetItem = widget.getChild(actionParam);
-			if (widgetItem != null)
+			return null;
+		}
+
+		return children[index];
+	}
+
+	private Shape getIndexedObjectShape(ExamineType type, int id, AnchorStrategy strategy,
+		int worldViewId, int plane, boolean bridge, int sceneX, int sceneY)
+	{
+		if (type == ExamineType.ITEM_GROUND)
+		{
+			Tile tile = sceneObjectIndex.findItemTile(worldViewId, id, plane, bridge, sceneX, sceneY);
+			if (tile != null && tile.getItemLayer() != null)
 			{
-				return widgetItem.getBounds();
+				return tile.getItemLayer().getCanvasTilePoly();
 			}
 		}
-		catch (Exception e)
+		else
 		{
-			// Ignore
+			TileObject object = sceneObjectIndex.findObject(worldViewId, id, plane, bridge, sceneX, sceneY);
+			if (object != null)
+			{
+				return getObjectShape(object, strategy);
+			}
 		}
 
 		return null;
 	}
 
-	private Shape getObjectShapeFromTile(Tile tile, ExamineType type, int id)
+	private Shape getObjectShapeFromTile(Tile tile, ExamineType type, int id, AnchorStrategy strategy)
 	{
 		if (type == ExamineType.ITEM_GROUND)
 		{
@@ -368,7 +489,7 @@ public class ExamineTooltipOverlay extends Overlay
 			{
 				if (objectIdEquals(object, id))
 				{
-					Shape shape = object.getConvexHull();
+					Shape shape = getObjectShape(object, strategy);
 					if (shape != null)
 					{
 						return shape;
@@ -379,7 +500,7 @@ public class ExamineTooltipOverlay extends Overlay
 			GroundObject gObj = tile.getGroundObject();
 			if (objectIdEquals(gObj, id))
 			{
-				Shape shape = gObj.getConvexHull();
+				Shape shape = getObjectShape(gObj, strategy);
 				if (shape != null)
 				{
 					return shape;
@@ -389,7 +510,7 @@ public class ExamineTooltipOverlay extends Overlay
 			DecorativeObject dObj = tile.getDecorativeObject();
 			if (objectIdEquals(dObj, id))
 			{
-				Shape shape = dObj.getConvexHull();
+				Shape shape = getObjectShape(dObj, strategy);
 				if (shape != null)
 				{
 					return shape;
@@ -399,13 +520,30 @@ public class ExamineTooltipOverlay extends Overlay
 			WallObject wObj = tile.getWallObject();
 			if (objectIdEquals(wObj, id))
 			{
-				return wObj.getConvexHull();
+				return getObjectShape(wObj, strategy);
 			}
 		}
 
 		return null;
 	}
 
+	private Shape getObjectShape(TileObject object, AnchorStrategy strategy)
+	{
+		if (strategy == AnchorStrategy.FAST)
+		{
+			if (object instanceof GameObject)
+			{
+				final GameObject gameObject = (GameObject) object;
+				final int size = Math.max(gameObject.sizeX(), gameObject.sizeY());
+				return Perspective.getCanvasTileAreaPoly(client, gameObject.getLocalLocation(), size);
+			}
+
+			return object.getCanvasTilePoly();
+		}
+
+		return object.getConvexHull();
+	}
+
 	// From ObjectIndicators plugin
 	private boolean objectIdEquals(TileObject tileObject, int id)
 	{
@@ -421,13 +559,6 @@ public class ExamineTooltipOverlay extends Overlay
 
 		// Menu action EXAMINE_OBJECT sends the transformed object id, not the base id, unlike
 		// all of the GAME_OBJECT_OPTION actions, so check the id against the impostor ids
-		final ObjectComposition comp = client.getObjectDefinition(tileObject.getId());
-
-		if (comp.getImpostorIds() != null)
-		{
-			return Arrays.stream(comp.getImpostorIds()).anyMatch(imp -> imp == id);
-		}
-
-		return false;
+		return impostorIndex.isImpostor(tileObject.getId(), id);
 	}
 }
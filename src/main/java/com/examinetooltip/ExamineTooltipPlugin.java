@@ -25,25 +25,44 @@
  */
 package com.examinetooltip;
 
-import com.google.common.collect.EvictingQueue;
+import com.examinetooltip.components.AlphaTooltipComponent;
+import com.examinetooltip.components.TooltipDocument;
+import com.examinetooltip.util.TagUtil;
+import com.google.common.io.Resources;
 import com.google.inject.Provides;
-import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.Queue;
-import java.util.regex.Pattern;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import lombok.Getter;
+import net.runelite.api.ChatMessageType;
 import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
 import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.ItemDespawned;
+import net.runelite.api.events.ItemSpawned;
 import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.api.events.WorldViewUnloaded;
+import net.runelite.api.widgets.WidgetUtil;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.config.RuneLiteConfig;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.OverlayManager;
-import net.runelite.client.util.Text;
 
 @Slf4j
 @PluginDescriptor(
@@ -53,15 +72,9 @@ import net.runelite.client.util.Text;
 )
 public class ExamineTooltipPlugin extends Plugin
 {
-	private static final Pattern PATCH_INSPECT_PATTERN = Pattern.compile("^This is an? .+\\. The (?:soil|patch) has");
+	private static final String BUNDLED_CHAT_RULES_RESOURCE = "chat_rules.txt";
 
-	private static final Pattern PLUGIN_HUB_PATCH_PAYMENT_1_PATTERN = Pattern.compile(
-		"^A farmer will watch over an? .+ patch for"
-	);
-
-	private static final Pattern PLUGIN_HUB_PATCH_PAYMENT_2_PATTERN = Pattern.compile(
-		"^An? .+ patch can NOT be protected by a farmer"
-	);
+	private static final String TOOLTIP_FONT_KEY_NAME = "tooltipFont";
 
 	@Inject
 	private OverlayManager overlayManager;
@@ -72,12 +85,37 @@ public class ExamineTooltipPlugin extends Plugin
 	@Inject
 	private ExamineTooltipConfig config;
 
-	@Getter
-	private final EvictingQueue<ExamineTextTime> examines = EvictingQueue.create(5);
+	@Inject
+	private RuneLiteConfig runeLiteConfig;
+
+	@Inject
+	private TooltipTextWrapper textWrapper;
+
+	@Inject
+	private ObjectImpostorIndex impostorIndex;
 
-	private final Queue<ExamineTextTime> pendingExamines = new ArrayDeque<>();
+	@Inject
+	private SceneObjectIndex sceneObjectIndex;
+
+	@Inject
+	private AnchorCache anchorCache;
+
+	@Inject
+	private ExamineCorrelator examineCorrelator;
+
+	@Inject
+	private ClientThread clientThread;
 
-	private ExamineTextTime pendingPatchInspect;
+	private final ExamineBuffer examines = new ExamineBuffer(ExamineTooltipConfig.DEFAULT_MAX_EXAMINES);
+
+	// The overlay is only registered while there are examines to show, so it costs nothing the rest of the time
+	private boolean overlayAttached;
+
+	@Getter
+	private volatile ExamineTooltipSettings settings;
+
+	private String bundledChatRules;
+	private ChatClassifier chatClassifier;
 
 	@Provides
 	ExamineTooltipConfig provideConfig(ConfigManager configManager)
@@ -88,232 +126,432 @@ public class ExamineTooltipPlugin extends Plugin
 	private void resetPlugin()
 	{
 		examines.clear();
-		pendingExamines.clear();
-		pendingPatchInspect = null;
+		detachOverlay();
+		examineCorrelator.clear();
+		impostorIndex.clear();
+		anchorCache.clear();
 	}
 
 	@Override
 	protected void startUp() throws Exception
 	{
+		settings = new ExamineTooltipSettings(config, runeLiteConfig);
+		examines.setCapacity(settings.getMaxExamines());
+		anchorCache.setCapacity(settings.getMaxExamines());
+		bundledChatRules = Resources.toString(
+			Resources.getResource(ExamineTooltipPlugin.class, BUNDLED_CHAT_RULES_RESOURCE), StandardCharsets.UTF_8);
+		buildChatClassifier();
 		examineTooltipOverlay.setLayer(config.overlayLayer().getRlLayer());
-		overlayManager.add(examineTooltipOverlay);
+		sceneObjectIndex.clear();
 		resetPlugin();
 	}
 
 	@Override
 	protected void shutDown() throws Exception
 	{
-		overlayManager.remove(examineTooltipOverlay);
+		examineTooltipOverlay.clearImageCache();
+		textWrapper.invalidate();
+		sceneObjectIndex.clear();
 		resetPlugin();
 	}
 
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged event)
 	{
+		switch (event.getGameState())
+		{
+			case LOADING:
+			case LOGIN_SCREEN:
+			case HOPPING:
+				// Objects and items of the new scene are spawned again after loading
+				sceneObjectIndex.clear();
+				break;
+		}
+
 		resetPlugin();
 	}
 
 	@Subscribe
-	public void onMenuOptionClicked(MenuOptionClicked event)
+	public void onWorldViewUnloaded(WorldViewUnloaded event)
 	{
-		String option = Text.removeTags(event.getMenuOption());
+		sceneObjectIndex.removeWorldView(event.getWorldView().getId());
+	}
 
-		ExamineType type;
-		if (option.equals("Examine"))
-		{
-			switch (event.getMenuAction())
-			{
-				case EXAMINE_ITEM_GROUND:
-					if (!config.showGroundItemExamines())
-					{
-						return;
-					}
-					type = ExamineType.ITEM_GROUND;
-					break;
-				case CC_OP:
-				case CC_OP_LOW_PRIORITY:
-					if (!config.showItemExamines())
-					{
-						return;
-					}
-					type = ExamineType.ITEM_INTERFACE;
-					break;
-				case EXAMINE_OBJECT:
-					if (!config.showObjectExamines())
-					{
-						return;
-					}
-					type = ExamineType.OBJECT;
-					break;
-				case EXAMINE_NPC:
-					if (!config.showNPCExamines())
-					{
-						return;
-					}
-					type = ExamineType.NPC;
-					break;
-				default:
-					return;
-			}
-		}
-		else if (option.equals("Inspect"))
+	@Subscribe
+	public void onGameTick(GameTick event)
+	{
+		examineCorrelator.expire();
+
+		if (!overlayAttached)
 		{
-			switch (event.getMenuAction())
-			{
-				case GAME_OBJECT_FIRST_OPTION:
-				case GAME_OBJECT_SECOND_OPTION:
-				case GAME_OBJECT_THIRD_OPTION:
-				case GAME_OBJECT_FOURTH_OPTION:
-				case GAME_OBJECT_FIFTH_OPTION:
-					type = ExamineType.PATCH_INSPECT;
-					break;
-				default:
-					return;
-			}
+			return;
 		}
-		else
+
+		examines.removeExpired(System.nanoTime());
+		if (examines.isEmpty())
 		{
-			return;
+			detachOverlay();
 		}
+	}
 
-		int id = event.getId();
-		int actionParam = event.getParam0(); // Action Param
-		int wId = event.getParam1(); // Widget ID
+	@Subscribe
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		sceneObjectIndex.addObject(event.getGameObject());
+	}
 
-		ExamineTextTime examine = new ExamineTextTime();
-		examine.setType(type);
-		examine.setId(id);
-		examine.setWidgetId(wId);
-		examine.setActionParam(actionParam);
+	@Subscribe
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		sceneObjectIndex.removeObject(event.getGameObject());
+	}
 
-		if (type == ExamineType.PATCH_INSPECT)
-		{
-			// Patch inspects require the player to move up to the patch.
-			// They have to be treated separately and cannot be queued.
-			pendingPatchInspect = examine;
-		}
-		else
+	@Subscribe
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		sceneObjectIndex.addObject(event.getWallObject());
+	}
+
+	@Subscribe
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		sceneObjectIndex.removeObject(event.getWallObject());
+	}
+
+	@Subscribe
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		sceneObjectIndex.addObject(event.getGroundObject());
+	}
+
+	@Subscribe
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		sceneObjectIndex.removeObject(event.getGroundObject());
+	}
+
+	@Subscribe
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		sceneObjectIndex.addObject(event.getDecorativeObject());
+	}
+
+	@Subscribe
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		sceneObjectIndex.removeObject(event.getDecorativeObject());
+	}
+
+	@Subscribe
+	public void onItemSpawned(ItemSpawned event)
+	{
+		sceneObjectIndex.addItem(event.getItem().getId(), event.getTile());
+	}
+
+	@Subscribe
+	public void onItemDespawned(ItemDespawned event)
+	{
+		sceneObjectIndex.removeItem(event.getItem().getId(), event.getTile());
+	}
+
+	@Subscribe
+	public void onWidgetLoaded(WidgetLoaded event)
+	{
+		dropWidgets(event.getGroupId());
+	}
+
+	@Subscribe
+	public void onWidgetClosed(WidgetClosed event)
+	{
+		dropWidgets(event.getGroupId());
+	}
+
+	/**
+	 * Drops the resolved widgets of the interface examines in the given interface, as its widgets are no longer valid.
+	 */
+	private void dropWidgets(int groupId)
+	{
+		for (ExamineTextTime examine : examines)
 		{
-			pendingExamines.offer(examine);
+			if (examine.getType() == ExamineType.ITEM_INTERFACE
+				&& WidgetUtil.componentToInterface(examine.getWidgetId()) == groupId)
+			{
+				examine.getRenderState().setWidget(null);
+				examine.getRenderState().setWidgetParent(null);
+			}
 		}
 	}
 
 	@Subscribe
-	public void onChatMessage(ChatMessage event)
+	public void onMenuOptionClicked(MenuOptionClicked event)
 	{
-		String text = Text.removeTags(event.getMessage());
 		ExamineType type;
-		switch (event.getType())
+		switch (event.getMenuAction())
 		{
-			case ITEM_EXAMINE:
-				if (text.startsWith("Price of"))
+			case EXAMINE_ITEM_GROUND:
+				if (!settings.isShowGroundItemExamines() || !isMenuOption(event, "Examine"))
 				{
-					type = ExamineType.PRICE_CHECK;
+					return;
 				}
-				else if (checkPluginHubPatchPaymentException(text))
+				type = ExamineType.ITEM_GROUND;
+				break;
+			case CC_OP:
+			case CC_OP_LOW_PRIORITY:
+				if (!settings.isShowItemExamines() || !isMenuOption(event, "Examine"))
 				{
-					type = ExamineType.PLUGIN_HUB_PATCH_PAYMENT;
+					return;
 				}
-				else
+				type = ExamineType.ITEM_INTERFACE;
+				break;
+			case EXAMINE_OBJECT:
+				if (!settings.isShowObjectExamines() || !isMenuOption(event, "Examine"))
 				{
-					type = ExamineType.ITEM_INTERFACE;
+					return;
 				}
-				break;
-			case OBJECT_EXAMINE:
 				type = ExamineType.OBJECT;
 				break;
-			case NPC_EXAMINE:
-				type = ExamineType.NPC;
-				break;
-			case GAMEMESSAGE:
-				if (PATCH_INSPECT_PATTERN.matcher(event.getMessage()).lookingAt())
+			case EXAMINE_NPC:
+				if (!settings.isShowNPCExamines() || !isMenuOption(event, "Examine"))
 				{
-					type = ExamineType.PATCH_INSPECT;
-				}
-				else if (checkPluginHubPatchPaymentException(text))
-				{
-					type = ExamineType.PLUGIN_HUB_PATCH_PAYMENT;
+					return;
 				}
-				else
+				type = ExamineType.NPC;
+				break;
+			case GAME_OBJECT_FIRST_OPTION:
+			case GAME_OBJECT_SECOND_OPTION:
+			case GAME_OBJECT_THIRD_OPTION:
+			case GAME_OBJECT_FOURTH_OPTION:
+			case GAME_OBJECT_FIFTH_OPTION:
+				if (!settings.isShowPatchInspects() || !isMenuOption(event, "Inspect"))
 				{
-					// Interfaces examines are no longer GAMEMESSAGE, so stop processing here
-					// https://github.com/runelite/runelite/blob/6c7ef87cb43d70daaa71fc1cba277eaafd86429f/runelite-client/src/main/java/net/runelite/client/plugins/examine/ExaminePlugin.java#L126
-					// Previously: type = ExamineType.ITEM_INTERFACE;
 					return;
 				}
+				type = ExamineType.PATCH_INSPECT;
 				break;
 			default:
 				return;
 		}
 
-		Instant now = Instant.now();
+		int id = event.getId();
+		int actionParam = event.getParam0(); // Action Param
+		int wId = event.getParam1(); // Widget ID
 
-		if (type == ExamineType.PRICE_CHECK
-			|| type == ExamineType.PLUGIN_HUB_PATCH_PAYMENT)
+		ExamineTextTime examine = new ExamineTextTime();
+		examine.setType(type);
+		examine.setId(id);
+		examine.setWidgetId(wId);
+		examine.setActionParam(actionParam);
+		examine.setWorldViewId(event.getMenuEntry().getWorldViewId());
+
+		examineCorrelator.offer(examine);
+	}
+
+	@Subscribe
+	public void onChatMessage(ChatMessage event)
+	{
+		// Most messages are chat from other players, reject those before doing any work on the text
+		final ChatMessageType messageType = event.getType();
+		if (!chatClassifier.handles(messageType))
+		{
+			return;
+		}
+
+		final String text = TagUtil.removeTags(event.getMessage());
+		final ExamineType type = chatClassifier.classify(messageType, text);
+		if (type == null)
 		{
-			if ((type == ExamineType.PRICE_CHECK && config.showPriceCheck())
-				|| (type == ExamineType.PLUGIN_HUB_PATCH_PAYMENT && config.showPluginHubPatchPayment()))
+			return;
+		}
+
+		long now = System.nanoTime();
+
+		if (type.isTooltipOnly())
+		{
+			if (isTooltipShown(type))
 			{
 				ExamineTextTime examine = new ExamineTextTime();
 				examine.setType(type);
-				examine.setText(text);
-				examine.setTime(now);
-				examines.add(examine);
+				setExamineText(examine, text);
+				scheduleExpiry(examine, now);
+				addExamine(examine);
 			}
 			return;
 		}
 
-		ExamineTextTime pending;
+		final ExamineTextTime pending = examineCorrelator.poll(type);
+		if (pending != null)
+		{
+			scheduleExpiry(pending, now);
+			setExamineText(pending, text);
+			addExamine(pending);
+		}
+	}
 
-		if (type == ExamineType.PATCH_INSPECT)
+	private static boolean isMenuOption(MenuOptionClicked event, String option)
+	{
+		return TagUtil.equalsIgnoreTags(event.getMenuOption(), option);
+	}
+
+	private void addExamine(ExamineTextTime examine)
+	{
+		if (examines.add(examine))
 		{
-			if (pendingPatchInspect != null && config.showPatchInspects())
-			{
-				pending = pendingPatchInspect;
-				pendingPatchInspect = null;
-			}
-			else
-			{
-				return;
-			}
+			attachOverlay();
 		}
-		else if (!pendingExamines.isEmpty())
+	}
+
+	private void attachOverlay()
+	{
+		if (!overlayAttached)
 		{
-			pending = pendingExamines.poll();
+			overlayManager.add(examineTooltipOverlay);
+			overlayAttached = true;
 		}
-		else
+	}
+
+	private void detachOverlay()
+	{
+		if (overlayAttached)
 		{
-			return;
+			overlayManager.remove(examineTooltipOverlay);
+			overlayAttached = false;
 		}
+	}
 
-		// Since we can't tell on the receiving end if an ITEM_EXAMINE is for interface items or ground items, allow an exception here.
-		if (pending.getType() == type || (type == ExamineType.ITEM_INTERFACE && pending.getType() == ExamineType.ITEM_GROUND))
+	private void scheduleExpiry(ExamineTextTime examine, long now)
+	{
+		long timeout = settings.getTooltipTimeoutNanos();
+		if (examine.getType() == ExamineType.PATCH_INSPECT)
 		{
-			pending.setTime(now);
-			pending.setText(text);
-			examines.removeIf(x -> x.getText().equals(text));
-			examines.add(pending);
+			timeout += settings.getPatchInspectExtraTimeNanos();
 		}
-		else
+
+		examine.setExpiresAt(now + timeout);
+		examine.setFadeDuration(settings.getTooltipFadeoutNanos());
+	}
+
+	/**
+	 * Gets the examines to show, as an immutable snapshot that can be iterated while new examines come in.
+	 * Expired examines are only removed on the next game tick, so they may still be part of it.
+	 */
+	ExamineTextTime[] getLiveExamines()
+	{
+		return examines.snapshot();
+	}
+
+	private void setExamineText(ExamineTextTime examine, String text)
+	{
+		final TooltipDocument document = TooltipDocument.compile(textWrapper.wrap(text, settings));
+
+		// Lay the box out right away, so the overlay can clamp it on its first frame without measuring anything
+		document.measure(textWrapper.getFontMetrics(settings.getTooltipFont()));
+
+		examine.setText(text);
+		examine.setDocument(document);
+		examine.getRenderState().setDimension(AlphaTooltipComponent.getBoxSize(document));
+	}
+
+	private boolean isTooltipShown(ExamineType type)
+	{
+		switch (type)
 		{
-			pendingExamines.clear();
+			case PRICE_CHECK:
+				return settings.isShowPriceCheck();
+			case PLUGIN_HUB_PATCH_PAYMENT:
+				return settings.isShowPluginHubPatchPayment();
+			default:
+				return true;
 		}
 	}
 
-	private boolean checkPluginHubPatchPaymentException(String text)
+	private void buildChatClassifier()
+	{
+		final List<ChatRule> rules = new ArrayList<>();
+		// Custom rules go first so they can override the bundled ones
+		parseChatRules(rules, config.customChatRules());
+		parseChatRules(rules, bundledChatRules);
+		chatClassifier = new ChatClassifier(rules);
+	}
+
+	private static void parseChatRules(List<ChatRule> rules, String table)
 	{
-		return PLUGIN_HUB_PATCH_PAYMENT_1_PATTERN.matcher(text).lookingAt()
-			|| PLUGIN_HUB_PATCH_PAYMENT_2_PATTERN.matcher(text).lookingAt();
+		for (String line : table.split("\n"))
+		{
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+			{
+				continue;
+			}
+
+			try
+			{
+				rules.add(ChatRule.parse(line, rules.size()));
+			}
+			catch (IllegalArgumentException e)
+			{
+				log.warn("Ignoring invalid chat rule: {}", line, e);
+			}
+		}
 	}
 
 	@Subscribe
 	private void onConfigChanged(ConfigChanged event)
+	{
+		if (!event.getGroup().equals(ExamineTooltipConfig.CONFIG_GROUP)
+			&& !event.getGroup().equals(RuneLiteConfig.GROUP_NAME))
+		{
+			return;
+		}
+
+		settings = new ExamineTooltipSettings(config, runeLiteConfig);
+
+		// Config changes arrive on the Swing thread, the examines, the wrapper and the anchor cache
+		// are only touched from the client thread
+		clientThread.invoke(() -> applyConfigChange(event));
+	}
+
+	private void applyConfigChange(ConfigChanged event)
 	{
 		if (event.getGroup().equals(ExamineTooltipConfig.CONFIG_GROUP)
 			&& event.getKey().equals(ExamineTooltipConfig.OVERLAY_LAYER_KEY_NAME))
 		{
 			examineTooltipOverlay.setLayer(config.overlayLayer().getRlLayer());
-			overlayManager.resetOverlay(examineTooltipOverlay);
+			if (overlayAttached)
+			{
+				overlayManager.resetOverlay(examineTooltipOverlay);
+			}
+		}
+
+		if (event.getGroup().equals(ExamineTooltipConfig.CONFIG_GROUP)
+			&& event.getKey().equals(ExamineTooltipConfig.ANCHOR_STRATEGY_KEY_NAME))
+		{
+			anchorCache.clear();
+		}
+
+		if (event.getGroup().equals(ExamineTooltipConfig.CONFIG_GROUP)
+			&& event.getKey().equals(ExamineTooltipConfig.MAX_EXAMINES_KEY_NAME))
+		{
+			examines.setCapacity(settings.getMaxExamines());
+			anchorCache.setCapacity(settings.getMaxExamines());
+		}
+
+		if (event.getGroup().equals(ExamineTooltipConfig.CONFIG_GROUP)
+			&& event.getKey().equals(ExamineTooltipConfig.CUSTOM_CHAT_RULES_KEY_NAME))
+		{
+			buildChatClassifier();
+		}
+
+		if ((event.getGroup().equals(ExamineTooltipConfig.CONFIG_GROUP)
+			&& event.getKey().startsWith(ExamineTooltipConfig.WRAP_KEY_NAME_PREFIX))
+			|| (event.getGroup().equals(RuneLiteConfig.GROUP_NAME) && event.getKey().equals(TOOLTIP_FONT_KEY_NAME)))
+		{
+			textWrapper.invalidate();
+
+			// Re-wrap the examines that are still showing
+			for (ExamineTextTime examine : examines)
+			{
+				setExamineText(examine, examine.getText());
+			}
 		}
 	}
 }
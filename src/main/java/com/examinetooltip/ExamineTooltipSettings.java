@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import net.runelite.client.config.RuneLiteConfig;
+
+/**
+ * Immutable snapshot of the plugin settings, rebuilt whenever the config changes,
+ * so the render loop and event handlers read plain fields instead of going through the config proxy.
+ */
+@Getter
+public class ExamineTooltipSettings
+{
+	private final boolean rs3Style;
+	private final boolean clampRS3;
+	private final boolean previousBoundsFallback;
+	private final boolean tooltipFallback;
+	private final AnchorStrategy anchorStrategy;
+
+	private final boolean showPriceCheck;
+	private final boolean showItemExamines;
+	private final boolean showGroundItemExamines;
+	private final boolean showObjectExamines;
+	private final boolean showNPCExamines;
+	private final boolean showPatchInspects;
+	private final boolean showPluginHubPatchPayment;
+
+	private final long tooltipTimeoutNanos;
+	private final long tooltipFadeoutNanos;
+	private final long patchInspectExtraTimeNanos;
+
+	private final boolean wrapTooltip;
+	private final TooltipWrapMode wrapTooltipMode;
+	private final int wrapTooltipColumns;
+	private final int wrapTooltipWidth;
+
+	/**
+	 * The custom background color if set, else the RuneLite overlay background color.
+	 */
+	private final Color backgroundColor;
+	private final boolean cacheTooltipImages;
+	private final int maxExamines;
+
+	/**
+	 * The font RuneLite draws tooltips with.
+	 */
+	private final Font tooltipFont;
+
+	public ExamineTooltipSettings(ExamineTooltipConfig config, RuneLiteConfig runeLiteConfig)
+	{
+		rs3Style = config.rs3Style();
+		clampRS3 = config.clampRS3();
+		previousBoundsFallback = config.previousBoundsFallback();
+		tooltipFallback = config.tooltipFallback();
+		anchorStrategy = config.anchorStrategy();
+
+		showPriceCheck = config.showPriceCheck();
+		showItemExamines = config.showItemExamines();
+		showGroundItemExamines = config.showGroundItemExamines();
+		showObjectExamines = config.showObjectExamines();
+		showNPCExamines = config.showNPCExamines();
+		showPatchInspects = config.showPatchInspects();
+		showPluginHubPatchPayment = config.showPluginHubPatchPayment();
+
+		tooltipTimeoutNanos = TimeUnit.SECONDS.toNanos(config.tooltipTimeout());
+		tooltipFadeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.tooltipFadeout());
+		patchInspectExtraTimeNanos = TimeUnit.SECONDS.toNanos(config.patchInspectExtraTime());
+
+		wrapTooltip = config.wrapTooltip();
+		wrapTooltipMode = config.wrapTooltipMode();
+		wrapTooltipColumns = config.wrapTooltipColumns();
+		wrapTooltipWidth = config.wrapTooltipWidth();
+
+		backgroundColor = config.customBackgroundColor() != null
+			? config.customBackgroundColor()
+			: runeLiteConfig.overlayBackgroundColor();
+		cacheTooltipImages = config.cacheTooltipImages();
+		maxExamines = config.maxExamines();
+
+		tooltipFont = runeLiteConfig.tooltipFontType().getFont();
+	}
+}
@@ -25,13 +25,34 @@
  */
 package com.examinetooltip;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
 public enum ExamineType
 {
-	ITEM_GROUND,
-	ITEM_INTERFACE,
-	OBJECT,
-	NPC,
-	PRICE_CHECK,
-	PATCH_INSPECT,
-	PLUGIN_HUB_PATCH_PAYMENT
+	ITEM_GROUND(false, 1, 0),
+	ITEM_INTERFACE(false, 1, 0),
+	OBJECT(false, 1, 0),
+	NPC(false, 1, 0),
+	PRICE_CHECK(true, 1, 2),
+	PATCH_INSPECT(false, 2, 1),
+	PLUGIN_HUB_PATCH_PAYMENT(true, 1, 2),
+	CUSTOM_MESSAGE(true, 1, 2);
+
+	/**
+	 * Whether the examine is not tied to anything on screen and is always shown as a cursor tooltip.
+	 */
+	private final boolean tooltipOnly;
+
+	/**
+	 * When the examine buffer is full, a new examine may only evict examines of the same or a lower priority.
+	 */
+	private final int priority;
+
+	/**
+	 * How many examines of this type can be shown at once, 0 means no limit other than the buffer capacity.
+	 */
+	private final int maxShown;
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import com.examinetooltip.util.IntObjectMap;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.ObjectComposition;
+
+/**
+ * Lazily built index of object ID -> impostor IDs (varbit/varp transformed objects), so checking whether
+ * an examined ID matches an object does not fetch its definition every frame.
+ * Must be cleared when the scene changes.
+ */
+@Singleton
+public class ObjectImpostorIndex
+{
+	private static final int[] NO_IMPOSTORS = new int[0];
+
+	@Inject
+	private Client client;
+
+	// Base object ID -> sorted impostor IDs
+	private final IntObjectMap<int[]> impostors = new IntObjectMap<>();
+
+	/**
+	 * Checks whether the given ID is one of the impostor IDs of the given base object ID.
+	 * @param baseId The ID of the object found in the scene.
+	 * @param id The ID to look for.
+	 * @return True if the object can transform into the given ID.
+	 */
+	public boolean isImpostor(int baseId, int id)
+	{
+		int[] ids = impostors.get(baseId);
+		if (ids == null)
+		{
+			ids = lookupImpostors(baseId);
+			impostors.put(baseId, ids);
+		}
+
+		return ids.length > 0 && Arrays.binarySearch(ids, id) >= 0;
+	}
+
+	public void clear()
+	{
+		impostors.clear();
+	}
+
+	private int[] lookupImpostors(int baseId)
+	{
+		final ObjectComposition comp = client.getObjectDefinition(baseId);
+		if (comp == null || comp.getImpostorIds() == null || comp.getImpostorIds().length == 0)
+		{
+			return NO_IMPOSTORS;
+		}
+
+		final int[] ids = comp.getImpostorIds().clone();
+		Arrays.sort(ids);
+		return ids;
+	}
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import com.examinetooltip.util.IntObjectMap;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Singleton;
+import net.runelite.api.GameObject;
+import net.runelite.api.Point;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.coords.LocalPoint;
+
+/**
+ * Index of the objects and ground items currently in the scene, kept up to date from spawn and despawn events,
+ * so examined targets can be found without searching scene tiles every frame.
+ * Every world view has its own index, since scene coordinates are relative to the world view.
+ */
+@Singleton
+public class SceneObjectIndex
+{
+	// World view ID -> index of that world view
+	private final IntObjectMap<ViewIndex> views = new IntObjectMap<>();
+
+	private static class ViewIndex
+	{
+		// Object ID -> objects with that ID
+		private final IntObjectMap<List<TileObject>> objects = new IntObjectMap<>();
+
+		// Item ID -> tiles with an item of that ID, once per item
+		private final IntObjectMap<List<Tile>> itemTiles = new IntObjectMap<>();
+
+		private boolean isEmpty()
+		{
+			return objects.isEmpty() && itemTiles.isEmpty();
+		}
+	}
+
+	public void addObject(TileObject object)
+	{
+		if (object == null)
+		{
+			return;
+		}
+
+		final IntObjectMap<List<TileObject>> objects = getOrCreateView(object.getLocalLocation().getWorldView()).objects;
+		List<TileObject> list = objects.get(object.getId());
+		if (list == null)
+		{
+			list = new ArrayList<>(2);
+			objects.put(object.getId(), list);
+		}
+		list.add(object);
+	}
+
+	public void removeObject(TileObject object)
+	{
+		if (object == null)
+		{
+			return;
+		}
+
+		final int worldViewId = object.getLocalLocation().getWorldView();
+		final ViewIndex view = views.get(worldViewId);
+		if (view == null)
+		{
+			return;
+		}
+
+		final List<TileObject> list = view.objects.get(object.getId());
+		if (list != null && removeIdentity(list, object) && list.isEmpty())
+		{
+			view.objects.remove(object.getId());
+			removeIfEmpty(worldViewId, view);
+		}
+	}
+
+	public void addItem(int itemId, Tile tile)
+	{
+		final IntObjectMap<List<Tile>> itemTiles = getOrCreateView(tile.getLocalLocation().getWorldView()).itemTiles;
+		List<Tile> list = itemTiles.get(itemId);
+		if (list == null)
+		{
+			list = new ArrayList<>(2);
+			itemTiles.put(itemId, list);
+		}
+		list.add(tile);
+	}
+
+	public void removeItem(int itemId, Tile tile)
+	{
+		final int worldViewId = tile.getLocalLocation().getWorldView();
+		final ViewIndex view = views.get(worldViewId);
+		if (view == null)
+		{
+			return;
+		}
+
+		final List<Tile> list = view.itemTiles.get(itemId);
+		if (list != null && removeIdentity(list, tile) && list.isEmpty())
+		{
+			view.itemTiles.remove(itemId);
+			removeIfEmpty(worldViewId, view);
+		}
+	}
+
+	/**
+	 * Drops the index of a world view that was unloaded, as its objects and items get no despawn events.
+	 */
+	public void removeWorldView(int worldViewId)
+	{
+		views.remove(worldViewId);
+	}
+
+	public void clear()
+	{
+		views.clear();
+	}
+
+	/**
+	 * Finds an object with the given ID covering the given scene tile.
+	 * Objects larger than one tile are matched on their whole footprint, not just their origin tile.
+	 * @param worldViewId The ID of the world view the scene coordinates are in.
+	 * @param id The object ID.
+	 * @param plane The plane of the tile.
+	 * @param bridge Whether the tile has a bridge above it, whose objects match if there is none on the tile itself.
+	 * @param sceneX The scene X coordinate of the tile.
+	 * @param sceneY The scene Y coordinate of the tile.
+	 * @return The object, or null if none was found.
+	 */
+	public TileObject findObject(int worldViewId, int id, int plane, boolean bridge, int sceneX, int sceneY)
+	{
+		final ViewIndex view = views.get(worldViewId);
+		final List<TileObject> list = view != null ? view.objects.get(id) : null;
+		if (list == null)
+		{
+			return null;
+		}
+
+		TileObject onBridge = null;
+		for (int i = 0; i < list.size(); i++)
+		{
+			final TileObject object = list.get(i);
+			final int objectPlane = object.getPlane();
+			if (objectPlane == plane && covers(object, sceneX, sceneY))
+			{
+				return object;
+			}
+			else if (bridge && onBridge == null && objectPlane == plane + 1 && covers(object, sceneX, sceneY))
+			{
+				onBridge = object;
+			}
+		}
+
+		return onBridge;
+	}
+
+	/**
+	 * Finds the tile holding an item with the given ID at the given scene location.
+	 * @param worldViewId The ID of the world view the scene coordinates are in.
+	 * @param itemId The item ID.
+	 * @param plane The plane of the tile.
+	 * @param bridge Whether the tile has a bridge above it, whose items match if there is none on the tile itself.
+	 * @param sceneX The scene X coordinate of the tile.
+	 * @param sceneY The scene Y coordinate of the tile.
+	 * @return The tile, or null if none was found.
+	 */
+	public Tile findItemTile(int worldViewId, int itemId, int plane, boolean bridge, int sceneX, int sceneY)
+	{
+		final ViewIndex view = views.get(worldViewId);
+		final List<Tile> list = view != null ? view.itemTiles.get(itemId) : null;
+		if (list == null)
+		{
+			return null;
+		}
+
+		Tile onBridge = null;
+		for (int i = 0; i < list.size(); i++)
+		{
+			final Tile tile = list.get(i);
+			final Point location = tile.getSceneLocation();
+			if (location.getX() != sceneX || location.getY() != sceneY)
+			{
+				continue;
+			}
+
+			final int tilePlane = tile.getPlane();
+			if (tilePlane == plane)
+			{
+				return tile;
+			}
+			else if (bridge && onBridge == null && tilePlane == plane + 1)
+			{
+				onBridge = tile;
+			}
+		}
+
+		return onBridge;
+	}
+
+	private ViewIndex getOrCreateView(int worldViewId)
+	{
+		ViewIndex view = views.get(worldViewId);
+		if (view == null)
+		{
+			view = new ViewIndex();
+			views.put(worldViewId, view);
+		}
+		return view;
+	}
+
+	private void removeIfEmpty(int worldViewId, ViewIndex view)
+	{
+		if (view.isEmpty())
+		{
+			views.remove(worldViewId);
+		}
+	}
+
+	private static boolean covers(TileObject object, int sceneX, int sceneY)
+	{
+		if (object instanceof GameObject)
+		{
+			final GameObject gameObject = (GameObject) object;
+			final Point min = gameObject.getSceneMinLocation();
+			final Point max = gameObject.getSceneMaxLocation();
+			return sceneX >= min.getX() && sceneX <= max.getX()
+				&& sceneY >= min.getY() && sceneY <= max.getY();
+		}
+
+		final LocalPoint location = object.getLocalLocation();
+		return location.getSceneX() == sceneX && location.getSceneY() == sceneY;
+	}
+
+	private static <T> boolean removeIdentity(List<T> list, T element)
+	{
+		for (int i = 0; i < list.size(); i++)
+		{
+			if (list.get(i) == element)
+			{
+				list.remove(i);
+				return true;
+			}
+		}
+		return false;
+	}
+}
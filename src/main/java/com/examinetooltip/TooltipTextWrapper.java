@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import javax.inject.Singleton;
+import lombok.Value;
+import net.runelite.client.util.Text;
+import org.apache.commons.text.WordUtils;
+
+/**
+ * Wraps examine text into tooltip lines, either by column count or by measured pixel width.
+ * Results are memoized on the text, the wrap settings and the tooltip font.
+ */
+@Singleton
+public class TooltipTextWrapper
+{
+	static final String LINE_BREAK = "</br>";
+
+	private static final int MAX_CACHED_TEXTS = 64;
+
+	private final Cache<WrapKey, String> wrappedTexts = CacheBuilder.newBuilder()
+		.maximumSize(MAX_CACHED_TEXTS)
+		.build();
+
+	private Font metricsFont;
+	private FontMetrics fontMetrics;
+
+	@Value
+	private static class WrapKey
+	{
+		String text;
+		TooltipWrapMode mode;
+		int columns;
+		int width;
+		Font font;
+	}
+
+	/**
+	 * Gets the given text wrapped according to the current wrap settings, with lines separated by br tags.
+	 * @param text The text to wrap.
+	 * @param settings The current plugin settings.
+	 * @return The wrapped text, or the passed text if wrapping is disabled.
+	 */
+	public String wrap(String text, ExamineTooltipSettings settings)
+	{
+		if (!settings.isWrapTooltip())
+		{
+			return text;
+		}
+
+		final TooltipWrapMode mode = settings.getWrapTooltipMode();
+		final WrapKey key;
+		if (mode == TooltipWrapMode.PIXEL_WIDTH)
+		{
+			key = new WrapKey(text, mode, 0, settings.getWrapTooltipWidth(), settings.getTooltipFont());
+		}
+		else
+		{
+			key = new WrapKey(text, mode, settings.getWrapTooltipColumns(), 0, null);
+		}
+
+		String wrapped = wrappedTexts.getIfPresent(key);
+		if (wrapped == null)
+		{
+			if (mode == TooltipWrapMode.PIXEL_WIDTH)
+			{
+				wrapped = wrapByWidth(text, key.getWidth(), getFontMetrics(key.getFont()));
+			}
+			else
+			{
+				wrapped = WordUtils.wrap(text, key.getColumns(), LINE_BREAK, false);
+			}
+			wrappedTexts.put(key, wrapped);
+		}
+
+		return wrapped;
+	}
+
+	public void invalidate()
+	{
+		wrappedTexts.invalidateAll();
+	}
+
+	/**
+	 * Gets the metrics of the given font, kept around as long as the font does not change.
+	 */
+	FontMetrics getFontMetrics(Font font)
+	{
+		if (fontMetrics == null || !font.equals(metricsFont))
+		{
+			final Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+			fontMetrics = graphics.getFontMetrics(font);
+			graphics.dispose();
+			metricsFont = font;
+		}
+
+		return fontMetrics;
+	}
+
+	/**
+	 * Greedily fills lines with whole words until the next word would go past the given width.
+	 * Words wider than the width are put on their own line rather than being split.
+	 */
+	private static String wrapByWidth(String text, int maxWidth, FontMetrics metrics)
+	{
+		final String[] words = text.split(" ");
+		final int spaceWidth = metrics.charWidth(' ');
+		final StringBuilder sb = new StringBuilder(text.length() + 16);
+
+		int lineWidth = 0;
+		for (String word : words)
+		{
+			if (word.isEmpty())
+			{
+				continue;
+			}
+
+			final int wordWidth = metrics.stringWidth(Text.removeTags(word));
+			if (lineWidth == 0)
+			{
+				lineWidth = wordWidth;
+			}
+			else if (lineWidth + spaceWidth + wordWidth <= maxWidth)
+			{
+				sb.append(' ');
+				lineWidth += spaceWidth + wordWidth;
+			}
+			else
+			{
+				sb.append(LINE_BREAK);
+				lineWidth = wordWidth;
+			}
+
+			sb.append(word);
+		}
+
+		return sb.toString();
+	}
+}
@@ -30,6 +30,7 @@ import java.awt.Dimension;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.font.GlyphVector;
 import java.util.regex.Pattern;
 import lombok.Setter;
 import net.runelite.client.ui.overlay.RenderableEntity;
@@ -47,9 +48,21 @@ public class AlphaTextComponent implements RenderableEntity
 	private boolean outline;
 	private double alphaModifier = 1.0;
 
+	/**
+	 * If set, the glyphs of this compiled run are drawn instead of the text, without laying the text out
+	 * or parsing it again. The size of the run is already known from its document, so nothing is returned.
+	 */
+	private TooltipRun run;
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
+		if (run != null)
+		{
+			renderRun(graphics);
+			return null;
+		}
+
 		final FontMetrics fontMetrics = graphics.getFontMetrics();
 		final Color shadowColor = AlphaUtil.getAlphaModdedColor(Color.BLACK, alphaModifier);
 
@@ -109,4 +122,30 @@ public class AlphaTextComponent implements RenderableEntity
 
 		return new Dimension(fontMetrics.stringWidth(text), fontMetrics.getHeight());
 	}
+
+	private void renderRun(Graphics2D graphics)
+	{
+		final GlyphVector glyphs = run.getGlyphs(graphics);
+		final int x = position.x;
+		final int y = position.y;
+
+		graphics.setColor(AlphaUtil.getAlphaModdedColor(Color.BLACK, alphaModifier));
+
+		if (outline)
+		{
+			graphics.drawGlyphVector(glyphs, x, y + 1);
+			graphics.drawGlyphVector(glyphs, x, y - 1);
+			graphics.drawGlyphVector(glyphs, x + 1, y);
+			graphics.drawGlyphVector(glyphs, x - 1, y);
+		}
+		else
+		{
+			// shadow
+			graphics.drawGlyphVector(glyphs, x + 1, y + 1);
+		}
+
+		// actual text
+		graphics.setColor(AlphaUtil.getAlphaModdedColor(color, alphaModifier));
+		graphics.drawGlyphVector(glyphs, x, y);
+	}
 }
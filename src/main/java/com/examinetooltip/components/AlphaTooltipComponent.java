@@ -25,14 +25,18 @@
 package com.examinetooltip.components;
 
 import com.examinetooltip.util.AlphaUtil;
-import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Composite;
 import java.awt.Dimension;
-import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.util.regex.Pattern;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.List;
 import lombok.Setter;
 import net.runelite.api.IndexedSprite;
 import net.runelite.client.ui.overlay.components.BackgroundComponent;
@@ -42,48 +46,79 @@ import net.runelite.client.ui.overlay.components.LayoutableRenderableEntity;
 @Setter
 public class AlphaTooltipComponent implements LayoutableRenderableEntity
 {
-	private static final Pattern BR = Pattern.compile("</br>");
-	private static final int OFFSET = 4;
-	private static final int MOD_ICON_WIDTH = 13; // they are generally 13px wide
-	private static final Color TRANSPARENT_COLOR = new Color(0, 0, 0, 0);
+	static final int OFFSET = 4;
 
-	private String text;
+	// Mod icons converted to images, weakly keyed on the client's sprites
+	private static final Cache<IndexedSprite, BufferedImage> MOD_ICON_IMAGES = CacheBuilder.newBuilder()
+		.weakKeys()
+		.build();
+
+	private TooltipDocument document;
 	private Color backgroundColor = ComponentConstants.STANDARD_BACKGROUND_COLOR;
 	private Point position = new Point();
 	private IndexedSprite[] modIcons;
 	private double alphaModifier = 1.0;
 
+	/**
+	 * If set, the tooltip box is drawn once into a cached image which is then faded as a whole.
+	 */
+	private TooltipImageCache imageCache;
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		// Tooltip size
-		final FontMetrics metrics = graphics.getFontMetrics();
-		final int textDescent = metrics.getDescent();
-		final int textHeight = metrics.getHeight();
-		int tooltipWidth = 0;
-		int tooltipHeight = 0;
-		String[] lines = BR.split(text);
-
-		// Calculate tooltip size
-		for (String line : lines)
+		// Tooltip size, the document is usually measured with this font already
+		if (!document.isMeasuredWith(graphics.getFont()))
+		{
+			document.measure(graphics.getFontMetrics());
+		}
+		final int width = document.getWidth() + OFFSET * 2;
+		final int height = document.getHeight() + OFFSET * 2;
+
+		if (imageCache == null)
+		{
+			renderBox(graphics, position.x, position.y, alphaModifier);
+		}
+		else
 		{
-			int textWidth = calculateTextWidth(metrics, line);
+			final BufferedImage image = imageCache.getImage(graphics, document, backgroundColor, width, height,
+				g -> renderBox(g, 0, 0, 1.0));
 
-			if (textWidth > tooltipWidth)
+			final AffineTransform transform = graphics.getTransform();
+			final Composite composite = graphics.getComposite();
+			if (alphaModifier < 1.0)
 			{
-				tooltipWidth = textWidth;
+				graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+					(float) Math.max(0.0, alphaModifier)));
 			}
 
-			tooltipHeight += textHeight;
+			graphics.translate(position.x, position.y);
+			graphics.scale(width / (double) image.getWidth(), height / (double) image.getHeight());
+			graphics.drawImage(image, 0, 0, null);
+
+			graphics.setTransform(transform);
+			graphics.setComposite(composite);
 		}
 
-		// Tooltip position
-		int x = position.x;
-		int y = position.y;
+		return new Dimension(width, height);
+	}
+
+	/**
+	 * Gets the size of the box a measured document is drawn in.
+	 */
+	public static Dimension getBoxSize(TooltipDocument document)
+	{
+		return new Dimension(document.getWidth() + OFFSET * 2, document.getHeight() + OFFSET * 2);
+	}
+
+	private void renderBox(Graphics2D graphics, int x, int y, double alphaModifier)
+	{
+		final int textDescent = document.getDescent();
+		final int textHeight = document.getLineHeight();
 
 		// Render tooltip - background
 		final Rectangle tooltipBackground = new Rectangle(x, y,
-			tooltipWidth + OFFSET * 2, tooltipHeight + OFFSET * 2);
+			document.getWidth() + OFFSET * 2, document.getHeight() + OFFSET * 2);
 		final BackgroundComponent backgroundComponent = new BackgroundComponent();
 		backgroundComponent.setBackgroundColor(AlphaUtil.getAlphaModdedColor(backgroundColor, alphaModifier));
 		backgroundComponent.setRectangle(tooltipBackground);
@@ -95,144 +130,85 @@ public class AlphaTooltipComponent implements LayoutableRenderableEntity
 		int textY = y + OFFSET;
 		int lineX;
 		final Color defaultColor = AlphaUtil.getAlphaModdedColor(Color.WHITE, alphaModifier);
-		Color nextColor = defaultColor;
-		for (int i = 0; i < lines.length; i++)
+		final AlphaTextComponent textComponent = new AlphaTextComponent();
+		final Point textPosition = new Point();
+		textComponent.setAlphaModifier(alphaModifier);
+		textComponent.setPosition(textPosition);
+		final List<TooltipLine> lines = document.getLines();
+		for (int i = 0; i < lines.size(); i++)
 		{
 			lineX = textX;
-			final String line = lines[i];
-			char[] chars = line.toCharArray();
+			final List<TooltipRun> runs = lines.get(i).getRuns();
 
-			int begin = 0;
-			boolean inTag = false;
-			for (int j = 0; j < chars.length; j++)
+			for (int j = 0; j < runs.size(); j++)
 			{
-				if (chars[j] == '<')
-				{
-					AlphaTextComponent textComponent = new AlphaTextComponent();
-					textComponent.setColor(nextColor);
-					textComponent.setAlphaModifier(alphaModifier);
-					String text = line.substring(begin, j);
-					textComponent.setText(text);
-					textComponent.setPosition(new Point(lineX, textY + (i + 1) * textHeight - textDescent));
-					textComponent.render(graphics);
+				final TooltipRun run = runs.get(j);
 
-					lineX += metrics.stringWidth(text);
-
-					begin = j;
-					inTag = true;
-				}
-				else if (chars[j] == '>' && inTag)
+				if (run.isIcon())
 				{
-					String subLine = line.substring(begin + 1, j);
-
-					if (subLine.startsWith("col="))
-					{
-						String argument = subLine.substring(4);
-						nextColor = AlphaUtil.getAlphaModdedColor(Color.decode("#" + argument), alphaModifier);
-					}
-					else if (subLine.equals("/col"))
-					{
-						nextColor = defaultColor;
-					}
-					else if (subLine.startsWith("img="))
-					{
-						if (modIcons != null)
-						{
-							String argument = subLine.substring(4);
-							int iconId = Integer.parseInt(argument);
-							IndexedSprite modIcon = modIcons[iconId];
-							renderModIcon(graphics, lineX, textY + i * textHeight - textDescent, modIcon);
-							lineX += modIcon.getWidth();
-						}
-					}
-					else
+					if (modIcons != null && run.getIconId() < modIcons.length)
 					{
-						AlphaTextComponent textComponent = new AlphaTextComponent();
-						textComponent.setColor(nextColor);
-						textComponent.setAlphaModifier(alphaModifier);
-						String text = line.substring(begin, j + 1);
-						textComponent.setText(text);
-						textComponent.setPosition(new Point(lineX, textY + (i + 1) * textHeight - textDescent));
-						textComponent.render(graphics);
-
-						lineX += metrics.stringWidth(text);
+						IndexedSprite modIcon = modIcons[run.getIconId()];
+						renderModIcon(graphics, lineX, textY + i * textHeight - textDescent, modIcon, alphaModifier);
+						lineX += modIcon.getWidth();
 					}
+				}
+				else
+				{
+					final Color runColor = run.getColor() == null
+						? defaultColor
+						: AlphaUtil.getAlphaModdedColor(run.getColor(), alphaModifier);
+					textComponent.setColor(runColor);
+					textComponent.setRun(run);
+					textPosition.setLocation(lineX, textY + (i + 1) * textHeight - textDescent);
+					textComponent.render(graphics);
 
-					begin = j + 1;
-					inTag = false;
+					lineX += run.getWidth();
 				}
 			}
-
-			// Draw trailing text (after last tag)
-			final AlphaTextComponent textComponent = new AlphaTextComponent();
-			textComponent.setColor(nextColor);
-			textComponent.setAlphaModifier(alphaModifier);
-			textComponent.setText(line.substring(begin));
-			textComponent.setPosition(new Point(lineX, textY + (i + 1) * textHeight - textDescent));
-			textComponent.render(graphics);
 		}
-
-		return new Dimension(tooltipWidth + OFFSET * 2, tooltipHeight + OFFSET * 2);
 	}
 
-	@VisibleForTesting
-	static int calculateTextWidth(FontMetrics metrics, String line)
+	static void renderModIcon(Graphics2D graphics, int x, int y, IndexedSprite modIcon, double alphaModifier)
 	{
-		char[] chars = line.toCharArray();
-		int textWidth = 0;
+		final BufferedImage image = MOD_ICON_IMAGES.asMap().computeIfAbsent(modIcon, AlphaTooltipComponent::createModIconImage);
 
-		int begin = 0;
-		boolean inTag = false;
-		for (int j = 0; j < chars.length; j++)
+		if (alphaModifier < 1.0)
 		{
-			if (chars[j] == '<')
-			{
-				textWidth += metrics.stringWidth(line.substring(begin, j));
-
-				begin = j;
-				inTag = true;
-			}
-			else if (chars[j] == '>' && inTag)
-			{
-				String subLine = line.substring(begin + 1, j);
-
-				if (subLine.startsWith("img="))
-				{
-					textWidth += MOD_ICON_WIDTH;
-				}
-				else if (!subLine.startsWith("col=") && !subLine.startsWith("/col"))
-				{
-					textWidth += metrics.stringWidth(line.substring(begin, j + 1));
-				}
-
-				begin = j + 1;
-				inTag = false;
-			}
+			final Composite composite = graphics.getComposite();
+			graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+				(float) Math.max(0.0, alphaModifier)));
+			graphics.drawImage(image, x, y, null);
+			graphics.setComposite(composite);
+		}
+		else
+		{
+			graphics.drawImage(image, x, y, null);
 		}
-
-		// Include trailing text (after last tag)
-		textWidth += metrics.stringWidth(line.substring(begin));
-
-		return textWidth;
 	}
 
-	private void renderModIcon(Graphics2D graphics, int x, int y, IndexedSprite modIcon)
+	private static BufferedImage createModIconImage(IndexedSprite modIcon)
 	{
-		int sourceOffset = 0;
+		final int width = modIcon.getWidth();
+		final int height = modIcon.getHeight();
+		final byte[] pixels = modIcon.getPixels();
+		final int[] palette = modIcon.getPalette();
+		final int[] argb = new int[width * height];
 
-		for (int y2 = 0; y2 < modIcon.getHeight(); y2++)
+		for (int i = 0; i < argb.length; i++)
 		{
-			for (int x2 = 0; x2 < modIcon.getWidth(); x2++)
-			{
-				int index = modIcon.getPixels()[sourceOffset++] & 0xff;
+			int index = pixels[i] & 0xff;
 
-				if (index != 0)
-				{
-					graphics.setColor(new Color(modIcon.getPalette()[index]));
-					graphics.drawLine(x + x2, y + y2, x + x2, y + y2);
-				}
+			// Index 0 is transparent, every other palette color is fully opaque
+			if (index != 0)
+			{
+				argb[i] = palette[index] | 0xFF000000;
 			}
 		}
+
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		image.setRGB(0, 0, width, height, argb, 0, width);
+		return image;
 	}
 
 	@Override
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.components;
+
+import com.examinetooltip.util.AlphaUtil;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.GlyphVector;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Setter;
+import net.runelite.api.IndexedSprite;
+import net.runelite.client.ui.overlay.components.BackgroundComponent;
+
+/**
+ * Draws several tooltip boxes together, one pass at a time: every background, then the text shadow of
+ * every box, then the text itself and finally the mod icons. The graphics color is only set again when
+ * the next run needs a different one, and the same background component is reused for every box.
+ * Boxes overlapping another box are drawn afterwards one whole box at a time, in the order they were added,
+ * so the background of a box still covers the text of the boxes under it.
+ * The documents must already be measured with the font of the graphics they are drawn on.
+ */
+public class TooltipBatch
+{
+	private static final int INITIAL_CAPACITY = 8;
+
+	private final BackgroundComponent backgroundComponent = new BackgroundComponent();
+	private final Rectangle background = new Rectangle();
+
+	private TooltipDocument[] documents = new TooltipDocument[INITIAL_CAPACITY];
+	private int[] xs = new int[INITIAL_CAPACITY];
+	private int[] ys = new int[INITIAL_CAPACITY];
+	private double[] alphaModifiers = new double[INITIAL_CAPACITY];
+	private boolean[] overlapping = new boolean[INITIAL_CAPACITY];
+	private int size;
+
+	@Setter
+	private Color backgroundColor;
+
+	@Setter
+	private IndexedSprite[] modIcons;
+
+	/**
+	 * Starts a new batch, forgetting the boxes of the previous one.
+	 */
+	public void begin()
+	{
+		Arrays.fill(documents, 0, size, null);
+		size = 0;
+	}
+
+	public void add(TooltipDocument document, int x, int y, double alphaModifier)
+	{
+		if (size == documents.length)
+		{
+			documents = Arrays.copyOf(documents, size * 2);
+			xs = Arrays.copyOf(xs, size * 2);
+			ys = Arrays.copyOf(ys, size * 2);
+			alphaModifiers = Arrays.copyOf(alphaModifiers, size * 2);
+			overlapping = Arrays.copyOf(overlapping, size * 2);
+		}
+
+		documents[size] = document;
+		xs[size] = x;
+		ys[size] = y;
+		alphaModifiers[size] = alphaModifier;
+		size++;
+	}
+
+	public void draw(Graphics2D graphics)
+	{
+		findOverlapping();
+
+		for (int i = 0; i < size; i++)
+		{
+			if (!overlapping[i])
+			{
+				drawBackground(graphics, i);
+			}
+		}
+
+		Color currentColor = null;
+		for (int i = 0; i < size; i++)
+		{
+			if (!overlapping[i])
+			{
+				currentColor = drawText(graphics, i, true, currentColor);
+			}
+		}
+		for (int i = 0; i < size; i++)
+		{
+			if (!overlapping[i])
+			{
+				currentColor = drawText(graphics, i, false, currentColor);
+			}
+		}
+
+		if (modIcons != null)
+		{
+			for (int i = 0; i < size; i++)
+			{
+				if (!overlapping[i])
+				{
+					drawModIcons(graphics, i);
+				}
+			}
+		}
+
+		for (int i = 0; i < size; i++)
+		{
+			if (overlapping[i])
+			{
+				drawBackground(graphics, i);
+				drawText(graphics, i, false, drawText(graphics, i, true, null));
+				if (modIcons != null)
+				{
+					drawModIcons(graphics, i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Marks the boxes that overlap another box, which cannot be drawn in shared passes.
+	 */
+	private void findOverlapping()
+	{
+		Arrays.fill(overlapping, 0, size, false);
+		for (int i = 0; i < size; i++)
+		{
+			for (int j = 0; j < i; j++)
+			{
+				if (xs[i] < xs[j] + getBoxWidth(j) && xs[j] < xs[i] + getBoxWidth(i)
+					&& ys[i] < ys[j] + getBoxHeight(j) && ys[j] < ys[i] + getBoxHeight(i))
+				{
+					overlapping[i] = true;
+					overlapping[j] = true;
+				}
+			}
+		}
+	}
+
+	private int getBoxWidth(int i)
+	{
+		return documents[i].getWidth() + AlphaTooltipComponent.OFFSET * 2;
+	}
+
+	private int getBoxHeight(int i)
+	{
+		return documents[i].getHeight() + AlphaTooltipComponent.OFFSET * 2;
+	}
+
+	private void drawBackground(Graphics2D graphics, int i)
+	{
+		background.setBounds(xs[i], ys[i], getBoxWidth(i), getBoxHeight(i));
+		backgroundComponent.setBackgroundColor(AlphaUtil.getAlphaModdedColor(backgroundColor, alphaModifiers[i]));
+		backgroundComponent.setRectangle(background);
+		backgroundComponent.render(graphics);
+	}
+
+	/**
+	 * Draws the text shadow or the text of a box.
+	 * @param currentColor The color the graphics are known to be set to, or null if unknown.
+	 * @return The color the graphics are set to afterwards.
+	 */
+	private Color drawText(Graphics2D graphics, int i, boolean shadow, Color currentColor)
+	{
+		final TooltipDocument document = documents[i];
+		final double alphaModifier = alphaModifiers[i];
+		final Color shadowColor = AlphaUtil.getAlphaModdedColor(Color.BLACK, alphaModifier);
+		final Color defaultColor = AlphaUtil.getAlphaModdedColor(Color.WHITE, alphaModifier);
+		final int offset = shadow ? 1 : 0;
+		final int textX = xs[i] + AlphaTooltipComponent.OFFSET + offset;
+		final int textY = ys[i] + AlphaTooltipComponent.OFFSET + offset - document.getDescent();
+
+		final List<TooltipLine> lines = document.getLines();
+		for (int l = 0; l < lines.size(); l++)
+		{
+			final List<TooltipRun> runs = lines.get(l).getRuns();
+			final int runY = textY + (l + 1) * document.getLineHeight();
+			int runX = textX;
+
+			for (int r = 0; r < runs.size(); r++)
+			{
+				final TooltipRun run = runs.get(r);
+				if (run.isIcon())
+				{
+					runX += getIconWidth(run);
+					continue;
+				}
+
+				final Color color;
+				if (shadow)
+				{
+					color = shadowColor;
+				}
+				else
+				{
+					final Color runColor = run.getColor() == null
+						? defaultColor
+						: AlphaUtil.getAlphaModdedColor(run.getColor(), alphaModifier);
+					color = AlphaUtil.getAlphaModdedColor(runColor, alphaModifier);
+				}
+
+				if (color != currentColor)
+				{
+					graphics.setColor(color);
+					currentColor = color;
+				}
+
+				final GlyphVector glyphs = run.getGlyphs(graphics);
+				graphics.drawGlyphVector(glyphs, runX, runY);
+				runX += run.getWidth();
+			}
+		}
+
+		return currentColor;
+	}
+
+	private void drawModIcons(Graphics2D graphics, int i)
+	{
+		final TooltipDocument document = documents[i];
+		final int textX = xs[i] + AlphaTooltipComponent.OFFSET;
+		final int textY = ys[i] + AlphaTooltipComponent.OFFSET - document.getDescent();
+
+		final List<TooltipLine> lines = document.getLines();
+		for (int l = 0; l < lines.size(); l++)
+		{
+			final List<TooltipRun> runs = lines.get(l).getRuns();
+			int runX = textX;
+
+			for (int r = 0; r < runs.size(); r++)
+			{
+				final TooltipRun run = runs.get(r);
+				if (run.isIcon())
+				{
+					if (run.getIconId() < modIcons.length)
+					{
+						AlphaTooltipComponent.renderModIcon(graphics, runX, textY + l * document.getLineHeight(),
+							modIcons[run.getIconId()], alphaModifiers[i]);
+					}
+					runX += getIconWidth(run);
+				}
+				else
+				{
+					runX += run.getWidth();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Icons advance the line by the width of their sprite, like when drawing a single tooltip.
+	 */
+	private int getIconWidth(TooltipRun run)
+	{
+		return modIcons != null && run.getIconId() < modIcons.length ? modIcons[run.getIconId()].getWidth() : 0;
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.components;
+
+import com.google.common.collect.ImmutableList;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.List;
+import java.util.regex.Pattern;
+import lombok.Getter;
+
+/**
+ * Examine text compiled into lines of runs with their colors and mod icons already resolved.
+ * The structure never changes once compiled, only the run widths are filled in by {@link #measure},
+ * normally as soon as the examine comes in, and again only if it is drawn with another font.
+ */
+public class TooltipDocument
+{
+	private static final Pattern BR = Pattern.compile("</br>");
+	private static final int MOD_ICON_WIDTH = 13; // they are generally 13px wide
+
+	/**
+	 * The markup the document was compiled from.
+	 */
+	@Getter
+	private final String text;
+
+	@Getter
+	private final List<TooltipLine> lines;
+
+	private Font measuredFont;
+
+	@Getter
+	private int width;
+
+	@Getter
+	private int height;
+
+	@Getter
+	private int lineHeight;
+
+	@Getter
+	private int descent;
+
+	private TooltipDocument(String text, List<TooltipLine> lines)
+	{
+		this.text = text;
+		this.lines = lines;
+	}
+
+	/**
+	 * Parses the given tooltip markup (col, /col and img tags, lines separated by br tags) into a document.
+	 * Unknown tags are kept as literal text.
+	 * @param text The tooltip markup.
+	 * @return The compiled document.
+	 */
+	public static TooltipDocument compile(String text)
+	{
+		final ImmutableList.Builder<TooltipLine> lines = ImmutableList.builder();
+		Color color = null;
+
+		for (String line : BR.split(text))
+		{
+			final ImmutableList.Builder<TooltipRun> runs = ImmutableList.builder();
+
+			int begin = 0;
+			boolean inTag = false;
+			for (int j = 0; j < line.length(); j++)
+			{
+				final char c = line.charAt(j);
+				if (c == '<')
+				{
+					addTextRun(runs, line.substring(begin, j), color);
+
+					begin = j;
+					inTag = true;
+				}
+				else if (c == '>' && inTag)
+				{
+					final String tag = line.substring(begin + 1, j);
+
+					if (tag.startsWith("col="))
+					{
+						color = parseColor(tag.substring(4), color);
+					}
+					else if (tag.equals("/col"))
+					{
+						color = null;
+					}
+					else if (tag.startsWith("img="))
+					{
+						final int iconId = parseIconId(tag.substring(4));
+						if (iconId >= 0)
+						{
+							runs.add(new TooltipRun(null, null, iconId));
+						}
+					}
+					else
+					{
+						addTextRun(runs, line.substring(begin, j + 1), color);
+					}
+
+					begin = j + 1;
+					inTag = false;
+				}
+			}
+
+			// Trailing text (after last tag)
+			addTextRun(runs, line.substring(begin), color);
+
+			lines.add(new TooltipLine(runs.build()));
+		}
+
+		return new TooltipDocument(text, lines.build());
+	}
+
+	/**
+	 * Measures the runs and lines of the document with the given font metrics.
+	 * Does nothing if the document was already measured with the same font.
+	 * @param metrics The font metrics of the font the document will be drawn with.
+	 */
+	public void measure(FontMetrics metrics)
+	{
+		if (isMeasuredWith(metrics.getFont()))
+		{
+			return;
+		}
+
+		int maxWidth = 0;
+		for (int i = 0; i < lines.size(); i++)
+		{
+			final TooltipLine line = lines.get(i);
+			final List<TooltipRun> runs = line.getRuns();
+			int lineWidth = 0;
+
+			for (int j = 0; j < runs.size(); j++)
+			{
+				final TooltipRun run = runs.get(j);
+				final int runWidth = run.isIcon() ? MOD_ICON_WIDTH : metrics.stringWidth(run.getText());
+				run.setWidth(runWidth);
+				lineWidth += runWidth;
+			}
+
+			line.setWidth(lineWidth);
+			maxWidth = Math.max(maxWidth, lineWidth);
+		}
+
+		lineHeight = metrics.getHeight();
+		descent = metrics.getDescent();
+		width = maxWidth;
+		height = lineHeight * lines.size();
+		measuredFont = metrics.getFont();
+	}
+
+	public boolean isMeasuredWith(Font font)
+	{
+		return font.equals(measuredFont);
+	}
+
+	private static void addTextRun(ImmutableList.Builder<TooltipRun> runs, String text, Color color)
+	{
+		if (!text.isEmpty())
+		{
+			runs.add(new TooltipRun(text, color, -1));
+		}
+	}
+
+	private static Color parseColor(String argument, Color previous)
+	{
+		try
+		{
+			return Color.decode("#" + argument);
+		}
+		catch (NumberFormatException e)
+		{
+			return previous;
+		}
+	}
+
+	private static int parseIconId(String argument)
+	{
+		try
+		{
+			return Integer.parseInt(argument);
+		}
+		catch (NumberFormatException e)
+		{
+			return -1;
+		}
+	}
+}
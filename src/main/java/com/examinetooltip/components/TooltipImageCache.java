@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.components;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+import lombok.Value;
+
+/**
+ * Holds pre-rendered tooltip boxes so a box that does not change only costs a single image draw per frame.
+ * Images are keyed on the tooltip text, background color, font and UI scale, and the least recently
+ * used ones are evicted once the cache is full.
+ */
+public class TooltipImageCache
+{
+	private static final int MAX_IMAGES = 32;
+
+	private final Cache<ImageKey, BufferedImage> images = CacheBuilder.newBuilder()
+		.maximumSize(MAX_IMAGES)
+		.build();
+
+	@Value
+	private static class ImageKey
+	{
+		String text;
+		Color backgroundColor;
+		Font font;
+		double scaleX;
+		double scaleY;
+	}
+
+	/**
+	 * Gets the cached image of a tooltip box, painting it first if it is not in the cache.
+	 * The image is created at the device scale of the given graphics, so it must be drawn scaled down by the same factor.
+	 * @param graphics The graphics the image will be drawn on.
+	 * @param document The document of the tooltip, already measured.
+	 * @param backgroundColor The background color of the tooltip.
+	 * @param width The width of the tooltip box, in unscaled pixels.
+	 * @param height The height of the tooltip box, in unscaled pixels.
+	 * @param painter Paints the tooltip box at (0, 0) with full opacity on the given graphics.
+	 * @return The image of the tooltip box.
+	 */
+	BufferedImage getImage(Graphics2D graphics, TooltipDocument document, Color backgroundColor,
+		int width, int height, Consumer<Graphics2D> painter)
+	{
+		final AffineTransform transform = graphics.getTransform();
+		final ImageKey key = new ImageKey(document.getText(), backgroundColor, graphics.getFont(),
+			transform.getScaleX(), transform.getScaleY());
+
+		BufferedImage image = images.getIfPresent(key);
+		if (image == null)
+		{
+			// Compatible images are managed by Java2D and get cached in video memory when the pipeline supports it
+			image = graphics.getDeviceConfiguration().createCompatibleImage(
+				(int) Math.ceil(width * key.getScaleX()),
+				(int) Math.ceil(height * key.getScaleY()),
+				Transparency.TRANSLUCENT);
+
+			final Graphics2D imageGraphics = image.createGraphics();
+			imageGraphics.setRenderingHints(graphics.getRenderingHints());
+			imageGraphics.setFont(graphics.getFont());
+			imageGraphics.scale(key.getScaleX(), key.getScaleY());
+			painter.accept(imageGraphics);
+			imageGraphics.dispose();
+
+			images.put(key, image);
+		}
+
+		return image;
+	}
+
+	public void clear()
+	{
+		images.invalidateAll();
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.components;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A single run of a compiled tooltip line, either plain text drawn in one color or a mod icon.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class TooltipRun
+{
+	/**
+	 * The text of the run, or null if this run is a mod icon.
+	 */
+	private final String text;
+
+	/**
+	 * The color of the run, or null if the run uses the default tooltip color.
+	 */
+	private final Color color;
+
+	/**
+	 * The mod icon index of the run, or -1 if this run is text.
+	 */
+	private final int iconId;
+
+	/**
+	 * The width of the run in pixels, as measured by {@link TooltipDocument#measure}.
+	 */
+	@Setter(AccessLevel.PACKAGE)
+	private int width;
+
+	// Glyphs of the text, laid out for the font and render context the run was last drawn with
+	@Getter(AccessLevel.NONE)
+	private Font glyphFont;
+	@Getter(AccessLevel.NONE)
+	private FontRenderContext glyphContext;
+	@Getter(AccessLevel.NONE)
+	private GlyphVector glyphs;
+
+	public boolean isIcon()
+	{
+		return iconId >= 0;
+	}
+
+	/**
+	 * Gets the glyphs of the text laid out for the font and render context of the given graphics.
+	 * The layout is kept until the run is drawn with another font, scale or rendering hints.
+	 */
+	GlyphVector getGlyphs(Graphics2D graphics)
+	{
+		final Font font = graphics.getFont();
+		final FontRenderContext context = graphics.getFontRenderContext();
+		if (glyphs == null || !font.equals(glyphFont) || !context.equals(glyphContext))
+		{
+			glyphs = font.createGlyphVector(context, text);
+			glyphFont = font;
+			glyphContext = context;
+		}
+		return glyphs;
+	}
+}
@@ -26,11 +26,21 @@
 package com.examinetooltip.util;
 
 import java.awt.Color;
+import java.util.Arrays;
 
 public class AlphaUtil
 {
+	private static final int CACHE_BITS = 6;
+	private static final int CACHE_SIZE = 1 << CACHE_BITS;
+	private static final int ALPHA_STEPS = 256;
+
+	// Open addressing table of ARGB value -> alpha modded colors indexed by their alpha
+	private static final int[] cachedArgb = new int[CACHE_SIZE];
+	private static final Color[][] cachedColors = new Color[CACHE_SIZE][];
+
 	/**
 	 * Applies the given alpha modifier to the transparency of the given color.
+	 * The resulting colors are interned, so repeated calls for the same color and alpha return the same object.
 	 * @param color The color to get the alpha modified version of.
 	 * @param alphaModifier The alpha modifier.
 	 * @return The alpha modified color or the passed Color object if alphaModifier == 1.0.
@@ -47,11 +57,49 @@ public class AlphaUtil
 			// Clamp value to 0 - 255
 			newAlpha = Math.max(0, Math.min(newAlpha, 255));
 
-			return new Color(
-				color.getRed(),
-				color.getGreen(),
-				color.getBlue(),
-				newAlpha);
+			return getColorWithAlpha(color.getRGB(), newAlpha);
+		}
+	}
+
+	private static synchronized Color getColorWithAlpha(int argb, int alpha)
+	{
+		final Color[] colors = getAlphaTable(argb);
+		Color color = colors[alpha];
+		if (color == null)
+		{
+			color = new Color((argb & 0xFFFFFF) | (alpha << 24), true);
+			colors[alpha] = color;
+		}
+		return color;
+	}
+
+	private static Color[] getAlphaTable(int argb)
+	{
+		int index = (argb * 0x9E3779B9) >>> (32 - CACHE_BITS);
+		for (int i = 0; i < CACHE_SIZE; i++)
+		{
+			final Color[] colors = cachedColors[index];
+			if (colors == null)
+			{
+				return insertAlphaTable(index, argb);
+			}
+			else if (cachedArgb[index] == argb)
+			{
+				return colors;
+			}
+			index = (index + 1) & (CACHE_SIZE - 1);
 		}
+
+		// Table is full (lots of different <col> tags), start over
+		Arrays.fill(cachedColors, null);
+		return getAlphaTable(argb);
+	}
+
+	private static Color[] insertAlphaTable(int index, int argb)
+	{
+		final Color[] colors = new Color[ALPHA_STEPS];
+		cachedArgb[index] = argb;
+		cachedColors[index] = colors;
+		return colors;
 	}
 }
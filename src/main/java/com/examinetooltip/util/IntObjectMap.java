@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.util;
+
+import java.util.Arrays;
+
+/**
+ * A minimal open addressing hash map from primitive ints to objects, so lookups do not box their keys.
+ * Null values are not supported.
+ * @param <V> The value type.
+ */
+public class IntObjectMap<V>
+{
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+	private Object[] values;
+	private int size;
+
+	public IntObjectMap()
+	{
+		this(MIN_CAPACITY);
+	}
+
+	public IntObjectMap(int expectedSize)
+	{
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2)
+		{
+			capacity <<= 1;
+		}
+		keys = new int[capacity];
+		values = new Object[capacity];
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int key)
+	{
+		final int mask = keys.length - 1;
+		for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask)
+		{
+			if (keys[i] == key)
+			{
+				return (V) values[i];
+			}
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value)
+	{
+		if (value == null)
+		{
+			throw new IllegalArgumentException("Null values are not supported");
+		}
+
+		final int mask = keys.length - 1;
+		int i = slot(key, mask);
+		for (; values[i] != null; i = (i + 1) & mask)
+		{
+			if (keys[i] == key)
+			{
+				final V previous = (V) values[i];
+				values[i] = value;
+				return previous;
+			}
+		}
+
+		keys[i] = key;
+		values[i] = value;
+		if (++size * 2 > keys.length)
+		{
+			resize(keys.length << 1);
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(int key)
+	{
+		final int mask = keys.length - 1;
+		int i = slot(key, mask);
+		for (; values[i] != null; i = (i + 1) & mask)
+		{
+			if (keys[i] == key)
+			{
+				break;
+			}
+		}
+
+		if (values[i] == null)
+		{
+			return null;
+		}
+
+		final V previous = (V) values[i];
+		values[i] = null;
+		size--;
+
+		// Shift back the following entries of the probe sequence so lookups do not stop at the hole
+		int hole = i;
+		for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask)
+		{
+			final int home = slot(keys[j], mask);
+			if (((j - home) & mask) >= ((j - hole) & mask))
+			{
+				keys[hole] = keys[j];
+				values[hole] = values[j];
+				values[j] = null;
+				hole = j;
+			}
+		}
+
+		return previous;
+	}
+
+	public void clear()
+	{
+		if (size > 0)
+		{
+			Arrays.fill(values, null);
+			size = 0;
+		}
+	}
+
+	private void resize(int capacity)
+	{
+		final int[] oldKeys = keys;
+		final Object[] oldValues = values;
+		keys = new int[capacity];
+		values = new Object[capacity];
+
+		final int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldValues[i] != null)
+			{
+				int j = slot(oldKeys[i], mask);
+				while (values[j] != null)
+				{
+					j = (j + 1) & mask;
+				}
+				keys[j] = oldKeys[i];
+				values[j] = oldValues[i];
+			}
+		}
+	}
+
+	private static int slot(int key, int mask)
+	{
+		final int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+}
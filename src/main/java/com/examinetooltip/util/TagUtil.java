@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.util;
+
+public class TagUtil
+{
+	/**
+	 * Removes all tags (e.g. col, img, br) from the given text in a single pass, like {@link net.runelite.client.util.Text#removeTags}.
+	 * A tag runs from a {@code <} to the next {@code >}, a {@code <} without a closing {@code >} is kept as text,
+	 * and the {@code <lt>} and {@code <gt>} escapes are kept as they are.
+	 * @param text The text to remove tags from.
+	 * @return The text without tags, or the passed String object if it contains no tags.
+	 */
+	public static String removeTags(String text)
+	{
+		int tagStart = text.indexOf('<');
+		int tagEnd = tagStart < 0 ? -1 : text.indexOf('>', tagStart);
+		if (tagEnd < 0)
+		{
+			return text;
+		}
+
+		final StringBuilder sb = new StringBuilder(text.length());
+		int copied = 0;
+		while (tagEnd >= 0)
+		{
+			sb.append(text, copied, tagStart);
+			if (isEscape(text, tagStart, tagEnd))
+			{
+				sb.append(text, tagStart, tagEnd + 1);
+			}
+
+			copied = tagEnd + 1;
+			tagStart = text.indexOf('<', copied);
+			tagEnd = tagStart < 0 ? -1 : text.indexOf('>', tagStart);
+		}
+		sb.append(text, copied, text.length());
+
+		return sb.toString();
+	}
+
+	/**
+	 * Checks whether the given text equals the given plain string once its tags are removed, without allocating.
+	 * Tags are removed the same way as {@link #removeTags}.
+	 * @param text The text that may contain tags.
+	 * @param plain The string to compare with, without tags.
+	 * @return True if the text without tags equals the plain string.
+	 */
+	public static boolean equalsIgnoreTags(String text, String plain)
+	{
+		if (text == null)
+		{
+			return false;
+		}
+
+		int j = 0;
+		int copied = 0;
+		int tagStart = text.indexOf('<');
+		int tagEnd = tagStart < 0 ? -1 : text.indexOf('>', tagStart);
+		while (tagEnd >= 0)
+		{
+			// Text before the tag, then the tag itself if it is an escape
+			int length = tagStart - copied;
+			if (!plain.regionMatches(j, text, copied, length))
+			{
+				return false;
+			}
+			j += length;
+
+			if (isEscape(text, tagStart, tagEnd))
+			{
+				length = tagEnd + 1 - tagStart;
+				if (!plain.regionMatches(j, text, tagStart, length))
+				{
+					return false;
+				}
+				j += length;
+			}
+
+			copied = tagEnd + 1;
+			tagStart = text.indexOf('<', copied);
+			tagEnd = tagStart < 0 ? -1 : text.indexOf('>', tagStart);
+		}
+
+		final int length = text.length() - copied;
+		return plain.length() - j == length && plain.regionMatches(j, text, copied, length);
+	}
+
+	private static boolean isEscape(String text, int tagStart, int tagEnd)
+	{
+		return tagEnd - tagStart == 3
+			&& (text.startsWith("<lt>", tagStart) || text.startsWith("<gt>", tagStart));
+	}
+}
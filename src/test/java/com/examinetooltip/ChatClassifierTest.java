@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.runelite.api.ChatMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ChatClassifierTest
+{
+	@Test
+	public void testHandles()
+	{
+		final ChatClassifier classifier = classifier(
+			"ITEM_EXAMINE;ITEM_INTERFACE;",
+			"GAMEMESSAGE;PATCH_INSPECT;/This is an? .+\\. The soil has/");
+		assertTrue(classifier.handles(ChatMessageType.ITEM_EXAMINE));
+		assertTrue(classifier.handles(ChatMessageType.GAMEMESSAGE));
+		assertFalse(classifier.handles(ChatMessageType.PUBLICCHAT));
+		assertFalse(classifier.handles(ChatMessageType.NPC_EXAMINE));
+	}
+
+	@Test
+	public void testMessageTypeSeparatesRules()
+	{
+		final ChatClassifier classifier = classifier(
+			"OBJECT_EXAMINE;OBJECT;",
+			"NPC_EXAMINE;NPC;");
+		assertEquals(ExamineType.OBJECT, classifier.classify(ChatMessageType.OBJECT_EXAMINE, "A door."));
+		assertEquals(ExamineType.NPC, classifier.classify(ChatMessageType.NPC_EXAMINE, "A man."));
+		assertNull(classifier.classify(ChatMessageType.GAMEMESSAGE, "A door."));
+	}
+
+	@Test
+	public void testFirstMatchingRuleWins()
+	{
+		// The shorter prefix and the empty match sit higher in the trie, but come later in the table
+		final ChatClassifier classifier = classifier(
+			"ITEM_EXAMINE;PRICE_CHECK;Price of",
+			"ITEM_EXAMINE;PLUGIN_HUB_PATCH_PAYMENT;Pri",
+			"ITEM_EXAMINE;ITEM_INTERFACE;");
+		assertEquals(ExamineType.PRICE_CHECK, classifier.classify(ChatMessageType.ITEM_EXAMINE, "Price of Lobster"));
+		assertEquals(ExamineType.PLUGIN_HUB_PATCH_PAYMENT, classifier.classify(ChatMessageType.ITEM_EXAMINE, "Priceless"));
+		assertEquals(ExamineType.ITEM_INTERFACE, classifier.classify(ChatMessageType.ITEM_EXAMINE, "A lobster."));
+	}
+
+	@Test
+	public void testEarlierShorterRuleWins()
+	{
+		// The empty match sits at the root of the trie and comes first, so it wins over the deeper rule
+		final ChatClassifier classifier = classifier(
+			"ITEM_EXAMINE;ITEM_INTERFACE;",
+			"ITEM_EXAMINE;PRICE_CHECK;Price of");
+		assertEquals(ExamineType.ITEM_INTERFACE, classifier.classify(ChatMessageType.ITEM_EXAMINE, "Price of Lobster"));
+	}
+
+	@Test
+	public void testCustomRulesOverrideBundled()
+	{
+		// Custom rules are put in front of the bundled ones, like the plugin does
+		final ChatClassifier classifier = classifier(
+			"ITEM_EXAMINE;CUSTOM_MESSAGE;/Price of .+: GE average/",
+			"ITEM_EXAMINE;PRICE_CHECK;Price of",
+			"ITEM_EXAMINE;ITEM_INTERFACE;");
+		assertEquals(ExamineType.CUSTOM_MESSAGE,
+			classifier.classify(ChatMessageType.ITEM_EXAMINE, "Price of Lobster: GE average 150"));
+		assertEquals(ExamineType.PRICE_CHECK, classifier.classify(ChatMessageType.ITEM_EXAMINE, "Price of Lobster: 150"));
+	}
+
+	@Test
+	public void testRegexIsCheckedAfterPrefix()
+	{
+		final ChatClassifier classifier = classifier(
+			"GAMEMESSAGE;PATCH_INSPECT;/This is an? .+\\. The soil has/");
+		assertEquals(ExamineType.PATCH_INSPECT,
+			classifier.classify(ChatMessageType.GAMEMESSAGE, "This is an allotment. The soil has been treated."));
+		assertNull(classifier.classify(ChatMessageType.GAMEMESSAGE, "This is an allotment. It is empty."));
+		assertNull(classifier.classify(ChatMessageType.GAMEMESSAGE, "That is an allotment. The soil has been treated."));
+		assertNull(classifier.classify(ChatMessageType.GAMEMESSAGE, "This"));
+	}
+
+	@Test
+	public void testSharedPrefixes()
+	{
+		final ChatClassifier classifier = classifier(
+			"GAMEMESSAGE;OBJECT;abc",
+			"GAMEMESSAGE;NPC;abd",
+			"GAMEMESSAGE;ITEM_GROUND;ab");
+		assertEquals(ExamineType.OBJECT, classifier.classify(ChatMessageType.GAMEMESSAGE, "abcd"));
+		assertEquals(ExamineType.NPC, classifier.classify(ChatMessageType.GAMEMESSAGE, "abd"));
+		assertEquals(ExamineType.ITEM_GROUND, classifier.classify(ChatMessageType.GAMEMESSAGE, "abe"));
+		assertNull(classifier.classify(ChatMessageType.GAMEMESSAGE, "a"));
+		assertNull(classifier.classify(ChatMessageType.GAMEMESSAGE, ""));
+	}
+
+	@Test
+	public void testMatchesLinearScan()
+	{
+		final List<ChatRule> rules = new ArrayList<>();
+		for (String line : Arrays.asList(
+			"GAMEMESSAGE;OBJECT;ab",
+			"GAMEMESSAGE;NPC;/a+b/",
+			"GAMEMESSAGE;ITEM_GROUND;/ab?c/",
+			"GAMEMESSAGE;PRICE_CHECK;/b|ca/",
+			"GAMEMESSAGE;PATCH_INSPECT;ba",
+			"GAMEMESSAGE;CUSTOM_MESSAGE;/c(a|b)/",
+			"GAMEMESSAGE;ITEM_INTERFACE;"))
+		{
+			rules.add(ChatRule.parse(line, rules.size()));
+		}
+
+		// Compare with trying every rule in table order, with and without a last rule matching everything
+		final ChatClassifier classifier = new ChatClassifier(rules.subList(0, rules.size() - 1));
+		final ChatClassifier withFallback = new ChatClassifier(rules);
+		final Random random = new Random(1);
+		for (int i = 0; i < 10_000; i++)
+		{
+			final char[] chars = new char[random.nextInt(6)];
+			for (int j = 0; j < chars.length; j++)
+			{
+				chars[j] = "abc".charAt(random.nextInt(3));
+			}
+
+			final String text = new String(chars);
+			assertEquals(text, linearScan(rules.subList(0, rules.size() - 1), text),
+				classifier.classify(ChatMessageType.GAMEMESSAGE, text));
+			assertEquals(text, linearScan(rules, text), withFallback.classify(ChatMessageType.GAMEMESSAGE, text));
+		}
+	}
+
+	private static ExamineType linearScan(List<ChatRule> rules, String text)
+	{
+		for (ChatRule rule : rules)
+		{
+			if (text.startsWith(rule.getPrefix()) && rule.matches(text))
+			{
+				return rule.getExamineType();
+			}
+		}
+		return null;
+	}
+
+	private static ChatClassifier classifier(String... lines)
+	{
+		final List<ChatRule> rules = new ArrayList<>();
+		for (String line : lines)
+		{
+			rules.add(ChatRule.parse(line, rules.size()));
+		}
+		return new ChatClassifier(rules);
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import com.examinetooltip.util.TagUtil;
+import com.google.common.io.Resources;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.api.ChatMessageType;
+import net.runelite.client.util.Text;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Replays a busy chat log through the message ingestion path. Checking the message type first and removing tags
+ * with {@link TagUtil} must classify every message the same as removing its tags with {@link Text#removeTags}.
+ */
+public class ChatReplayTest
+{
+	private final List<ChatMessageType> types = new ArrayList<>();
+	private final List<String> messages = new ArrayList<>();
+	private ChatClassifier classifier;
+
+	@Before
+	public void before() throws IOException
+	{
+		final String table = Resources.toString(
+			Resources.getResource(ExamineTooltipPlugin.class, "chat_rules.txt"), StandardCharsets.UTF_8);
+		final List<ChatRule> rules = new ArrayList<>();
+		for (String line : table.split("\n"))
+		{
+			line = line.trim();
+			if (!line.isEmpty() && !line.startsWith("#"))
+			{
+				rules.add(ChatRule.parse(line, rules.size()));
+			}
+		}
+		classifier = new ChatClassifier(rules);
+
+		// Mostly player chat, with the odd game message and examine like in a crowded world
+		for (int i = 0; i < 100; i++)
+		{
+			add(ChatMessageType.PUBLICCHAT, "<col=0000ff>Selling</col> lobsters <img=" + (i % 3) + "> 3 < 4 ea");
+			add(ChatMessageType.CLAN_CHAT, "<col=ef1020>Anyone up for a raid " + i + "?</col>");
+			add(ChatMessageType.SPAM, "You catch some <col=ff0000>shrimps</col>.");
+			if (i % 10 == 0)
+			{
+				add(ChatMessageType.GAMEMESSAGE, "This is an allotment patch. The soil has been treated with compost.");
+				add(ChatMessageType.ITEM_EXAMINE, "Price of <col=ff9040>Lobster</col>: GE average 150 HA value 72");
+				add(ChatMessageType.NPC_EXAMINE, "A <col=ffff00>banker</col>.");
+			}
+		}
+	}
+
+	private void add(ChatMessageType type, String message)
+	{
+		types.add(type);
+		messages.add(message);
+	}
+
+	@Test
+	public void testSameClassification()
+	{
+		for (int i = 0; i < messages.size(); i++)
+		{
+			assertEquals(messages.get(i), classifyOld(types.get(i), messages.get(i)), classifyNew(types.get(i), messages.get(i)));
+		}
+	}
+
+	private ExamineType classifyOld(ChatMessageType type, String message)
+	{
+		return classifier.classify(type, Text.removeTags(message));
+	}
+
+	private ExamineType classifyNew(ChatMessageType type, String message)
+	{
+		if (!classifier.handles(type))
+		{
+			return null;
+		}
+		return classifier.classify(type, TagUtil.removeTags(message));
+	}
+}
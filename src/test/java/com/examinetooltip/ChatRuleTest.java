@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import net.runelite.api.ChatMessageType;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ChatRuleTest
+{
+	@Test
+	public void testParseLiteral()
+	{
+		final ChatRule rule = ChatRule.parse(" ITEM_EXAMINE ; PRICE_CHECK ; Price of ", 3);
+		assertEquals(ChatMessageType.ITEM_EXAMINE, rule.getMessageType());
+		assertEquals(ExamineType.PRICE_CHECK, rule.getExamineType());
+		assertEquals("Price of", rule.getPrefix());
+		assertNull(rule.getPattern());
+		assertEquals(3, rule.getOrder());
+		assertTrue(rule.matches("Price of Lobster"));
+	}
+
+	@Test
+	public void testParseEmptyMatch()
+	{
+		final ChatRule rule = ChatRule.parse("NPC_EXAMINE;NPC;", 0);
+		assertEquals("", rule.getPrefix());
+		assertTrue(rule.matches("Anything at all."));
+	}
+
+	@Test
+	public void testParseRegex()
+	{
+		final ChatRule rule = ChatRule.parse("GAMEMESSAGE;PATCH_INSPECT;/This is an? .+\\. The (?:soil|patch) has/", 0);
+		assertEquals("This is a", rule.getPrefix());
+		assertTrue(rule.matches("This is an allotment. The soil has not been treated."));
+		assertTrue(rule.matches("This is a herb patch. The patch has been weeded."));
+		assertFalse(rule.matches("This is a tree. The roots have"));
+	}
+
+	@Test
+	public void testRegexPrefix()
+	{
+		assertEquals("abc", prefix("abc"));
+		assertEquals("abc", prefix("^abc"));
+		assertEquals("ab", prefix("ab.c"));
+		assertEquals("ab", prefix("ab\\.c"));
+		assertEquals("", prefix(".abc"));
+		assertEquals("", prefix("(abc)"));
+		assertEquals("ab", prefix("ab(c|d)"));
+	}
+
+	@Test
+	public void testRegexPrefixQuantifier()
+	{
+		// The quantified character may be missing from a match, so it cannot be part of the prefix
+		assertEquals("ab", prefix("abc?"));
+		assertEquals("ab", prefix("abc*"));
+		assertEquals("ab", prefix("abc{0,2}"));
+		assertEquals("abc", prefix("abc+"));
+		assertEquals("", prefix("a?bc"));
+	}
+
+	@Test
+	public void testRegexPrefixAlternation()
+	{
+		assertEquals("", prefix("abc|abd"));
+		assertEquals("", prefix("(a)|b"));
+		assertEquals("a", prefix("a(b|c)"));
+		assertEquals("a", prefix("a\\|b"));
+		assertEquals("a", prefix("a(b\\)|c)"));
+	}
+
+	@Test
+	public void testRegexPrefixCharacterClass()
+	{
+		// Parentheses and pipes inside a character class are literals
+		assertEquals("", prefix("ab[(]|cd"));
+		assertEquals("", prefix("ab[\\]]|cd"));
+		assertEquals("", prefix("ab[]]|cd"));
+		assertEquals("", prefix("ab[^]a]|cd"));
+		assertEquals("", prefix("ab[a-z&&[^b]]|cd"));
+		assertEquals("ab", prefix("ab[|]cd"));
+		assertEquals("ab", prefix("ab(c[)]|d)"));
+		assertEquals("ab", prefix("ab[c]?"));
+
+		final ChatRule rule = ChatRule.parse("GAMEMESSAGE;OBJECT;/ab[(]|cd/", 0);
+		assertTrue(rule.matches("cd"));
+		assertTrue(rule.matches("ab("));
+	}
+
+	@Test
+	public void testPrefixAgreesWithMatches()
+	{
+		final ChatRule rule = ChatRule.parse("GAMEMESSAGE;OBJECT;/An? .+ patch|Nothing/", 0);
+		assertEquals("", rule.getPrefix());
+		assertTrue(rule.matches("A herb patch"));
+		assertTrue(rule.matches("Nothing interesting happens."));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseMissingField()
+	{
+		ChatRule.parse("GAMEMESSAGE;OBJECT", 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseUnknownType()
+	{
+		ChatRule.parse("GAMEMESSAGE;NOT_A_TYPE;", 0);
+	}
+
+	private static String prefix(String regex)
+	{
+		return ChatRule.parse("GAMEMESSAGE;OBJECT;/" + regex + "/", 0).getPrefix();
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.awt.Rectangle;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ExamineBoxLayoutTest
+{
+	private final ExamineBoxLayout layout = new ExamineBoxLayout();
+
+	@Test
+	public void testSeparateBoxesKeepTheirSpot()
+	{
+		final ExamineTextTime a = new ExamineTextTime();
+		final ExamineTextTime b = new ExamineTextTime();
+		layout.begin();
+		layout.add(a, 10, 10, 50, 20, false, 0, 0, 0, 0);
+		layout.add(b, 100, 10, 50, 20, false, 0, 0, 0, 0);
+		layout.layout();
+
+		assertEquals(new Rectangle(10, 10, 50, 20), placed(a, 50, 20));
+		assertEquals(new Rectangle(100, 10, 50, 20), placed(b, 50, 20));
+	}
+
+	@Test
+	public void testOverlappingBoxesStack()
+	{
+		final ExamineTextTime a = new ExamineTextTime();
+		final ExamineTextTime b = new ExamineTextTime();
+		layout.begin();
+		layout.add(a, 10, 10, 50, 20, false, 0, 0, 0, 0);
+		layout.add(b, 30, 15, 50, 20, false, 0, 0, 0, 0);
+		layout.layout();
+
+		assertEquals(new Rectangle(10, 10, 50, 20), placed(a, 50, 20));
+		assertEquals(new Rectangle(30, 32, 50, 20), placed(b, 50, 20));
+	}
+
+	@Test
+	public void testFullRegionMovesSideways()
+	{
+		// Three 50px boxes cannot be stacked in a 100px high region, the last one goes next to the others
+		final ExamineTextTime[] examines = new ExamineTextTime[3];
+		layout.begin();
+		for (int i = 0; i < examines.length; i++)
+		{
+			examines[i] = new ExamineTextTime();
+			layout.add(examines[i], 20, 10, 50, 50, true, 0, 300, 10, 110);
+		}
+		layout.layout();
+
+		final Rectangle region = new Rectangle(0, 10, 300, 100);
+		for (int i = 0; i < examines.length; i++)
+		{
+			final Rectangle box = placed(examines[i], 50, 50);
+			assertTrue(box.toString(), region.contains(box));
+			for (int j = 0; j < i; j++)
+			{
+				assertFalse(box.intersects(placed(examines[j], 50, 50)));
+			}
+		}
+	}
+
+	@Test
+	public void testFullRegionMovesLeftAtRightEdge()
+	{
+		final ExamineTextTime[] examines = new ExamineTextTime[3];
+		layout.begin();
+		for (int i = 0; i < examines.length; i++)
+		{
+			examines[i] = new ExamineTextTime();
+			layout.add(examines[i], 250, 10, 50, 50, true, 0, 300, 10, 110);
+		}
+		layout.layout();
+
+		final Rectangle last = placed(examines[2], 50, 50);
+		assertTrue(last.toString(), last.x + last.width < 250);
+		assertTrue(new Rectangle(0, 10, 300, 100).contains(last));
+	}
+
+	@Test
+	public void testNoRoomAnywhereGoesBelow()
+	{
+		final ExamineTextTime[] examines = new ExamineTextTime[3];
+		layout.begin();
+		for (int i = 0; i < examines.length; i++)
+		{
+			examines[i] = new ExamineTextTime();
+			layout.add(examines[i], 0, 0, 100, 50, true, 0, 100, 0, 100);
+		}
+		layout.layout();
+
+		for (int i = 0; i < examines.length; i++)
+		{
+			for (int j = 0; j < i; j++)
+			{
+				assertFalse(placed(examines[i], 100, 50).intersects(placed(examines[j], 100, 50)));
+			}
+		}
+	}
+
+	@Test
+	public void testOrderKeptBetweenFrames()
+	{
+		final ExamineTextTime a = new ExamineTextTime();
+		final ExamineTextTime b = new ExamineTextTime();
+		layout.begin();
+		layout.add(a, 10, 10, 50, 20, false, 0, 0, 0, 0);
+		layout.add(b, 10, 12, 50, 20, false, 0, 0, 0, 0);
+		layout.layout();
+
+		// The targets moved so b now wants to be slightly above a, it still goes below it
+		layout.begin();
+		layout.add(a, 10, 14, 50, 20, false, 0, 0, 0, 0);
+		layout.add(b, 10, 12, 50, 20, false, 0, 0, 0, 0);
+		layout.layout();
+
+		assertTrue(b.getRenderState().getPlacedY() > a.getRenderState().getPlacedY());
+	}
+
+	@Test
+	public void testTargetsCrossingVertically()
+	{
+		final ExamineTextTime a = new ExamineTextTime();
+		final ExamineTextTime b = new ExamineTextTime();
+		layout.begin();
+		layout.add(a, 10, 10, 50, 20, false, 0, 0, 0, 0);
+		layout.add(b, 10, 40, 50, 20, false, 0, 0, 0, 0);
+		layout.layout();
+		assertEquals(10, a.getRenderState().getPlacedY());
+		assertEquals(40, b.getRenderState().getPlacedY());
+
+		// a moved far below b, neither is in the way of the other anymore
+		for (int frame = 0; frame < 3; frame++)
+		{
+			layout.begin();
+			layout.add(a, 10, 300, 50, 20, false, 0, 0, 0, 0);
+			layout.add(b, 10, 40, 50, 20, false, 0, 0, 0, 0);
+			layout.layout();
+			assertEquals(300, a.getRenderState().getPlacedY());
+			assertEquals(40, b.getRenderState().getPlacedY());
+		}
+
+		// And back up past b, slowly enough to first overlap it
+		layout.begin();
+		layout.add(a, 10, 45, 50, 20, false, 0, 0, 0, 0);
+		layout.add(b, 10, 40, 50, 20, false, 0, 0, 0, 0);
+		layout.layout();
+		assertEquals(40, b.getRenderState().getPlacedY());
+		assertEquals(62, a.getRenderState().getPlacedY());
+
+		layout.begin();
+		layout.add(a, 10, 5, 50, 20, false, 0, 0, 0, 0);
+		layout.add(b, 10, 40, 50, 20, false, 0, 0, 0, 0);
+		layout.layout();
+		assertEquals(5, a.getRenderState().getPlacedY());
+		assertEquals(40, b.getRenderState().getPlacedY());
+	}
+
+	@Test
+	public void testOnlyCoveredPartOfWideBoxRaised()
+	{
+		final ExamineTextTime wide = new ExamineTextTime();
+		final ExamineTextTime left = new ExamineTextTime();
+		final ExamineTextTime right = new ExamineTextTime();
+		layout.begin();
+		layout.add(wide, 0, 0, 500, 20, false, 0, 0, 0, 0);
+		layout.add(left, 0, 5, 50, 20, false, 0, 0, 0, 0);
+		layout.add(right, 400, 10, 50, 20, false, 0, 0, 0, 0);
+		layout.layout();
+
+		assertEquals(22, left.getRenderState().getPlacedY());
+		// Only the wide box is above it, the left box below the wide one is not in its way
+		assertEquals(22, right.getRenderState().getPlacedY());
+	}
+
+	@Test
+	public void testRandomBoxesNeverOverlap()
+	{
+		final Random random = new Random(1);
+		for (int frame = 0; frame < 2_000; frame++)
+		{
+			final int count = 1 + random.nextInt(20);
+			final ExamineTextTime[] examines = new ExamineTextTime[count];
+			final Rectangle[] sizes = new Rectangle[count];
+			layout.begin();
+			for (int i = 0; i < count; i++)
+			{
+				examines[i] = new ExamineTextTime();
+				sizes[i] = new Rectangle(0, 0, 20 + random.nextInt(150), 15 + random.nextInt(60));
+				layout.add(examines[i], random.nextInt(700), random.nextInt(450), sizes[i].width, sizes[i].height,
+					random.nextBoolean(), 0, 765, 0, 503);
+			}
+			layout.layout();
+
+			for (int i = 0; i < count; i++)
+			{
+				final Rectangle box = placed(examines[i], sizes[i].width, sizes[i].height);
+				for (int j = 0; j < i; j++)
+				{
+					assertFalse(box + " " + j, box.intersects(placed(examines[j], sizes[j].width, sizes[j].height)));
+				}
+			}
+		}
+	}
+
+	private static Rectangle placed(ExamineTextTime examine, int width, int height)
+	{
+		final ExamineRenderState renderState = examine.getRenderState();
+		assertTrue(renderState.isPlaced());
+		return new Rectangle(renderState.getPlacedX(), renderState.getPlacedY(), width, height);
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class ExamineBufferTest
+{
+	@Test
+	public void testOldestEvictedWhenFull()
+	{
+		final ExamineBuffer buffer = new ExamineBuffer(3);
+		final ExamineTextTime a = examine(ExamineType.NPC, "a");
+		final ExamineTextTime b = examine(ExamineType.OBJECT, "b");
+		final ExamineTextTime c = examine(ExamineType.NPC, "c");
+		final ExamineTextTime d = examine(ExamineType.ITEM_GROUND, "d");
+		assertTrue(buffer.add(a));
+		assertTrue(buffer.add(b));
+		assertTrue(buffer.add(c));
+		assertTrue(buffer.add(d));
+		assertArrayEquals(new ExamineTextTime[]{b, c, d}, buffer.snapshot());
+	}
+
+	@Test
+	public void testDuplicateReplaced()
+	{
+		final ExamineBuffer buffer = new ExamineBuffer(3);
+		final ExamineTextTime a = examine(ExamineType.NPC, "a");
+		final ExamineTextTime b = examine(ExamineType.NPC, "b");
+		final ExamineTextTime a2 = examine(ExamineType.OBJECT, "a");
+		buffer.add(a);
+		buffer.add(b);
+		buffer.add(a2);
+		assertArrayEquals(new ExamineTextTime[]{b, a2}, buffer.snapshot());
+	}
+
+	@Test
+	public void testTypeCap()
+	{
+		// Patch inspects are capped to one, the previous one makes room even when the buffer is not full
+		final ExamineBuffer buffer = new ExamineBuffer(5);
+		final ExamineTextTime first = examine(ExamineType.PATCH_INSPECT, "first");
+		final ExamineTextTime npc = examine(ExamineType.NPC, "npc");
+		final ExamineTextTime second = examine(ExamineType.PATCH_INSPECT, "second");
+		buffer.add(first);
+		buffer.add(npc);
+		buffer.add(second);
+		assertArrayEquals(new ExamineTextTime[]{npc, second}, buffer.snapshot());
+	}
+
+	@Test
+	public void testPatchInspectNotEvictedByPriceCheck()
+	{
+		final ExamineBuffer buffer = new ExamineBuffer(3);
+		final ExamineTextTime inspect = examine(ExamineType.PATCH_INSPECT, "inspect");
+		final ExamineTextTime npc = examine(ExamineType.NPC, "npc");
+		final ExamineTextTime object = examine(ExamineType.OBJECT, "object");
+		final ExamineTextTime price = examine(ExamineType.PRICE_CHECK, "price");
+		buffer.add(inspect);
+		buffer.add(npc);
+		buffer.add(object);
+		assertTrue(buffer.add(price));
+		assertArrayEquals(new ExamineTextTime[]{inspect, object, price}, buffer.snapshot());
+	}
+
+	@Test
+	public void testPriceCheckShownWhenFullOfExamines()
+	{
+		final ExamineBuffer buffer = new ExamineBuffer(2);
+		final ExamineTextTime npc = examine(ExamineType.NPC, "npc");
+		final ExamineTextTime object = examine(ExamineType.OBJECT, "object");
+		final ExamineTextTime price = examine(ExamineType.PRICE_CHECK, "price");
+		final ExamineTextTime item = examine(ExamineType.ITEM_GROUND, "item");
+		buffer.add(npc);
+		buffer.add(object);
+		assertTrue(buffer.add(price));
+		assertTrue(buffer.add(item));
+		assertArrayEquals(new ExamineTextTime[]{price, item}, buffer.snapshot());
+	}
+
+	@Test
+	public void testHigherPriorityNotEvicted()
+	{
+		final ExamineBuffer buffer = new ExamineBuffer(1);
+		final ExamineTextTime inspect = examine(ExamineType.PATCH_INSPECT, "inspect");
+		buffer.add(inspect);
+		assertFalse(buffer.add(examine(ExamineType.NPC, "npc")));
+		assertArrayEquals(new ExamineTextTime[]{inspect}, buffer.snapshot());
+	}
+
+	@Test
+	public void testRemoveExpired()
+	{
+		final ExamineBuffer buffer = new ExamineBuffer(3);
+		final ExamineTextTime a = examine(ExamineType.NPC, "a", 10);
+		final ExamineTextTime b = examine(ExamineType.NPC, "b", 30);
+		final ExamineTextTime c = examine(ExamineType.NPC, "c", 20);
+		buffer.add(a);
+		buffer.add(b);
+		buffer.add(c);
+
+		final ExamineTextTime[] before = buffer.snapshot();
+		buffer.removeExpired(5);
+		assertSame(before, buffer.snapshot());
+
+		buffer.removeExpired(20);
+		assertArrayEquals(new ExamineTextTime[]{b}, buffer.snapshot());
+
+		// The index must follow the examines moved by the removal
+		final ExamineTextTime b2 = examine(ExamineType.NPC, "b", 40);
+		buffer.add(b2);
+		assertArrayEquals(new ExamineTextTime[]{b2}, buffer.snapshot());
+	}
+
+	@Test
+	public void testSetCapacity()
+	{
+		final ExamineBuffer buffer = new ExamineBuffer(4);
+		final ExamineTextTime[] added = new ExamineTextTime[4];
+		for (int i = 0; i < added.length; i++)
+		{
+			added[i] = examine(ExamineType.NPC, "" + i);
+			buffer.add(added[i]);
+		}
+
+		buffer.setCapacity(2);
+		assertArrayEquals(new ExamineTextTime[]{added[2], added[3]}, buffer.snapshot());
+
+		buffer.setCapacity(3);
+		final ExamineTextTime e = examine(ExamineType.NPC, "e");
+		buffer.add(e);
+		buffer.add(examine(ExamineType.NPC, "2"));
+		assertEquals(3, buffer.size());
+		assertEquals("2", buffer.snapshot()[2].getText());
+		assertSame(e, buffer.snapshot()[1]);
+	}
+
+	@Test
+	public void testMatchesList()
+	{
+		// Random adds, duplicates, expiries and resizes against a plain list doing the same, wrapping the ring many times
+		final Random random = new Random(1);
+		final ExamineType[] types = ExamineType.values();
+		final ExamineBuffer buffer = new ExamineBuffer(5);
+		final List<ExamineTextTime> expected = new ArrayList<>();
+		int capacity = 5;
+
+		for (int i = 0; i < 100_000; i++)
+		{
+			final int op = random.nextInt(100);
+			if (op < 85)
+			{
+				final ExamineTextTime examine = examine(types[random.nextInt(types.length)],
+					"" + random.nextInt(12), i + random.nextInt(50));
+				assertEquals(add(expected, examine, capacity), buffer.add(examine));
+			}
+			else if (op < 97)
+			{
+				final long now = i;
+				expected.removeIf(examine -> examine.isExpired(now));
+				buffer.removeExpired(now);
+			}
+			else
+			{
+				capacity = 1 + random.nextInt(8);
+				while (expected.size() > capacity)
+				{
+					expected.remove(0);
+				}
+				buffer.setCapacity(capacity);
+			}
+
+			assertEquals(expected, Arrays.asList(buffer.snapshot()));
+			final List<ExamineTextTime> iterated = new ArrayList<>();
+			buffer.forEach(iterated::add);
+			assertEquals(expected, iterated);
+		}
+	}
+
+	private static boolean add(List<ExamineTextTime> list, ExamineTextTime examine, int capacity)
+	{
+		list.removeIf(e -> e.getText().equals(examine.getText()));
+
+		final ExamineType type = examine.getType();
+		final long count = list.stream().filter(e -> e.getType() == type).count();
+		if (type.getMaxShown() > 0 && count >= type.getMaxShown())
+		{
+			list.remove(list.stream().filter(e -> e.getType() == type).findFirst().get());
+		}
+		else if (list.size() == capacity)
+		{
+			ExamineTextTime victim = null;
+			for (ExamineTextTime e : list)
+			{
+				final int priority = e.getType().getPriority();
+				if (priority <= type.getPriority() && (victim == null || priority < victim.getType().getPriority()))
+				{
+					victim = e;
+				}
+			}
+
+			if (victim == null)
+			{
+				return false;
+			}
+			list.remove(victim);
+		}
+
+		list.add(examine);
+		return true;
+	}
+
+	private static ExamineTextTime examine(ExamineType type, String text)
+	{
+		return examine(type, text, Long.MAX_VALUE);
+	}
+
+	private static ExamineTextTime examine(ExamineType type, String text, long expiresAt)
+	{
+		final ExamineTextTime examine = new ExamineTextTime();
+		examine.setType(type);
+		examine.setText(text);
+		examine.setExpiresAt(expiresAt);
+		return examine;
+	}
+}
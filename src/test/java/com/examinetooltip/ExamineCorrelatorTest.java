@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip;
+
+import com.google.inject.Guice;
+import java.lang.reflect.Proxy;
+import net.runelite.api.Client;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExamineCorrelatorTest
+{
+	private int tick;
+	private ExamineCorrelator correlator;
+
+	@Before
+	public void before()
+	{
+		final Client client = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class},
+			(proxy, method, args) ->
+			{
+				if (method.getName().equals("getTickCount"))
+				{
+					return tick;
+				}
+				throw new UnsupportedOperationException(method.getName());
+			});
+		correlator = Guice.createInjector(binder -> binder.bind(Client.class).toInstance(client))
+			.getInstance(ExamineCorrelator.class);
+	}
+
+	@Test
+	public void testResponseTakesOldestClickOfItsType()
+	{
+		final ExamineTextTime npc1 = click(ExamineType.NPC);
+		final ExamineTextTime object = click(ExamineType.OBJECT);
+		final ExamineTextTime npc2 = click(ExamineType.NPC);
+
+		assertSame(npc1, correlator.poll(ExamineType.NPC));
+		assertSame(npc2, correlator.poll(ExamineType.NPC));
+		assertSame(object, correlator.poll(ExamineType.OBJECT));
+		assertNull(correlator.poll(ExamineType.NPC));
+	}
+
+	@Test
+	public void testMismatchKeepsOtherClicks()
+	{
+		final ExamineTextTime object = click(ExamineType.OBJECT);
+
+		// A response with no click of its type, like an examine from another plugin, takes nothing
+		assertNull(correlator.poll(ExamineType.NPC));
+		assertSame(object, correlator.poll(ExamineType.OBJECT));
+	}
+
+	@Test
+	public void testSameTickResponses()
+	{
+		// Several clicks answered within the same tick, in a different order than the types were clicked
+		final ExamineTextTime npc = click(ExamineType.NPC);
+		final ExamineTextTime object = click(ExamineType.OBJECT);
+		final ExamineTextTime item = click(ExamineType.ITEM_INTERFACE);
+
+		assertSame(item, correlator.poll(ExamineType.ITEM_INTERFACE));
+		assertSame(object, correlator.poll(ExamineType.OBJECT));
+		assertSame(npc, correlator.poll(ExamineType.NPC));
+	}
+
+	@Test
+	public void testItemResponseTakesOlderOfGroundAndInterface()
+	{
+		final ExamineTextTime ground = click(ExamineType.ITEM_GROUND);
+		final ExamineTextTime inventory = click(ExamineType.ITEM_INTERFACE);
+		final ExamineTextTime ground2 = click(ExamineType.ITEM_GROUND);
+
+		assertSame(ground, correlator.poll(ExamineType.ITEM_INTERFACE));
+		assertSame(inventory, correlator.poll(ExamineType.ITEM_INTERFACE));
+		assertSame(ground2, correlator.poll(ExamineType.ITEM_INTERFACE));
+		assertNull(correlator.poll(ExamineType.ITEM_INTERFACE));
+	}
+
+	@Test
+	public void testClicksExpireAfterTicks()
+	{
+		click(ExamineType.NPC);
+		tick += 3;
+		final ExamineTextTime fresh = click(ExamineType.NPC);
+		tick += 3;
+
+		// The first click is 6 ticks old and went unanswered, the second is still waiting
+		assertSame(fresh, correlator.poll(ExamineType.NPC));
+		assertNull(correlator.poll(ExamineType.NPC));
+	}
+
+	@Test
+	public void testExpireOnTick()
+	{
+		click(ExamineType.OBJECT);
+		tick += 6;
+		correlator.expire();
+		tick -= 6;
+		assertNull(correlator.poll(ExamineType.OBJECT));
+	}
+
+	@Test
+	public void testPatchInspectKeepsLastClickLonger()
+	{
+		click(ExamineType.PATCH_INSPECT);
+		final ExamineTextTime last = click(ExamineType.PATCH_INSPECT);
+
+		// Walking up to the patch takes a while
+		tick += 50;
+		assertSame(last, correlator.poll(ExamineType.PATCH_INSPECT));
+		assertNull(correlator.poll(ExamineType.PATCH_INSPECT));
+	}
+
+	@Test
+	public void testQueueDropsOldestWhenFull()
+	{
+		// The queue holds 8 clicks, the first one is dropped for the ninth
+		click(ExamineType.NPC);
+		ExamineTextTime second = null;
+		for (int i = 0; i < 8; i++)
+		{
+			final ExamineTextTime click = click(ExamineType.NPC);
+			if (i == 0)
+			{
+				second = click;
+			}
+		}
+
+		assertSame(second, correlator.poll(ExamineType.NPC));
+	}
+
+	@Test
+	public void testTooltipOnlyTypesHaveNoQueue()
+	{
+		assertNull(correlator.poll(ExamineType.PRICE_CHECK));
+	}
+
+	@Test
+	public void testClear()
+	{
+		click(ExamineType.NPC);
+		correlator.clear();
+		assertNull(correlator.poll(ExamineType.NPC));
+	}
+
+	private ExamineTextTime click(ExamineType type)
+	{
+		final ExamineTextTime click = new ExamineTextTime();
+		click.setType(type);
+		correlator.offer(click);
+		return click;
+	}
+}
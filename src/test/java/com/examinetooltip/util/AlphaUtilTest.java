@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.util;
+
+import java.awt.Color;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class AlphaUtilTest
+{
+	// A one second fade at 50 frames per second
+	private static final int FADE_FRAMES = 50;
+
+	// Background, shadow, default text color and a few col tags, as drawn for a single box
+	private static final Color[] BOX_COLORS = {
+		new Color(70, 61, 50, 156),
+		Color.BLACK,
+		Color.WHITE,
+		new Color(0xff9040),
+		new Color(0x00ffff),
+		new Color(0xffff00),
+	};
+
+	@Test
+	public void testAlphaModdedColor()
+	{
+		final Color color = new Color(10, 20, 30, 200);
+		assertSame(color, AlphaUtil.getAlphaModdedColor(color, 1.0));
+
+		final Color faded = AlphaUtil.getAlphaModdedColor(color, 0.5);
+		assertEquals(new Color(10, 20, 30, 100), faded);
+		assertSame(faded, AlphaUtil.getAlphaModdedColor(new Color(10, 20, 30, 200), 0.5));
+
+		assertEquals(0, AlphaUtil.getAlphaModdedColor(color, -1.0).getAlpha());
+		assertEquals(255, AlphaUtil.getAlphaModdedColor(color, 2.0).getAlpha());
+	}
+
+	@Test
+	public void testManyColors()
+	{
+		// More colors than the table holds, it must start over and keep returning correct colors
+		for (int rgb = 0; rgb < 1000; rgb++)
+		{
+			final Color color = new Color(rgb * 16381);
+			final Color faded = AlphaUtil.getAlphaModdedColor(color, 0.25);
+			assertEquals(color.getRGB() & 0xFFFFFF, faded.getRGB() & 0xFFFFFF);
+			assertEquals(63, faded.getAlpha());
+		}
+	}
+
+	@Test
+	public void testFadeReusesColors()
+	{
+		// Every frame of a fade must get the same colors as the previous fade, rather than new ones
+		final Color[][] first = fade();
+		final Color[][] second = fade();
+		for (int frame = 0; frame < FADE_FRAMES; frame++)
+		{
+			for (int i = 0; i < BOX_COLORS.length; i++)
+			{
+				assertSame(first[frame][i], second[frame][i]);
+			}
+		}
+	}
+
+	private static Color[][] fade()
+	{
+		final Color[][] colors = new Color[FADE_FRAMES][BOX_COLORS.length];
+		for (int frame = 0; frame < FADE_FRAMES; frame++)
+		{
+			final double alpha = 1.0 - frame / (double) FADE_FRAMES;
+			for (int i = 0; i < BOX_COLORS.length; i++)
+			{
+				colors[frame][i] = AlphaUtil.getAlphaModdedColor(BOX_COLORS[i], alpha);
+			}
+		}
+		return colors;
+	}
+}
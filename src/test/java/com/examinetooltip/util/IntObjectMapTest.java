@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class IntObjectMapTest
+{
+	@Test
+	public void testPutGetRemove()
+	{
+		final IntObjectMap<String> map = new IntObjectMap<>();
+		assertTrue(map.isEmpty());
+
+		assertNull(map.put(1, "a"));
+		assertNull(map.put(-1, "b"));
+		assertNull(map.put(0, "c"));
+		assertEquals("a", map.put(1, "d"));
+		assertEquals(3, map.size());
+
+		assertEquals("d", map.get(1));
+		assertEquals("b", map.get(-1));
+		assertEquals("c", map.get(0));
+		assertNull(map.get(2));
+
+		assertEquals("b", map.remove(-1));
+		assertNull(map.remove(-1));
+		assertNull(map.get(-1));
+		assertEquals(2, map.size());
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullValue()
+	{
+		new IntObjectMap<String>().put(1, null);
+	}
+
+	@Test
+	public void testRemoveKeepsProbeSequences()
+	{
+		// Fill a table just below its resize threshold, so entries collide and wrap around the end of the table
+		final IntObjectMap<Integer> map = new IntObjectMap<>();
+		for (int key = 0; key < 8; key++)
+		{
+			map.put(key * 16, key);
+		}
+
+		// Removing any entry must leave every other entry reachable, whatever its place in a probe sequence
+		for (int removed = 0; removed < 8; removed++)
+		{
+			final IntObjectMap<Integer> copy = new IntObjectMap<>();
+			for (int key = 0; key < 8; key++)
+			{
+				copy.put(key * 16, key);
+			}
+
+			assertEquals(Integer.valueOf(removed), copy.remove(removed * 16));
+			for (int key = 0; key < 8; key++)
+			{
+				assertEquals(key == removed ? null : Integer.valueOf(key), copy.get(key * 16));
+			}
+		}
+	}
+
+	@Test
+	public void testMatchesHashMap()
+	{
+		final Random random = new Random(42);
+		final IntObjectMap<Integer> map = new IntObjectMap<>();
+		final Map<Integer, Integer> expected = new HashMap<>();
+
+		for (int i = 0; i < 100_000; i++)
+		{
+			// A small key range so keys are removed and added back a lot, with the table growing and shrinking in use
+			final int key = random.nextInt(200) - 100;
+			final int op = random.nextInt(3);
+			if (op == 0)
+			{
+				assertEquals(expected.remove(key), map.remove(key));
+			}
+			else if (op == 1)
+			{
+				assertEquals(expected.put(key, i), map.put(key, i));
+			}
+			else
+			{
+				assertEquals(expected.get(key), map.get(key));
+			}
+			assertEquals(expected.size(), map.size());
+		}
+
+		for (Map.Entry<Integer, Integer> entry : expected.entrySet())
+		{
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+	}
+}
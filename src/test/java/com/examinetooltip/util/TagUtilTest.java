@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, Cyborger1
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.examinetooltip.util;
+
+import java.util.Random;
+import net.runelite.client.util.Text;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class TagUtilTest
+{
+	private static final String[] MESSAGES = {
+		"",
+		"No tags at all",
+		"<col=ff0000>Red</col> text",
+		"<img=2>Mod<col=ffff00>: hi</col>",
+		"3 < 4 is true",
+		"4 > 3 is true",
+		"a <col=ff0000 b",
+		"<lt>col=ff0000<gt> is escaped",
+		"<<col=ff0000>>",
+		"<>empty tag",
+		"trailing <",
+		"</br>line<br>break",
+	};
+
+	@Test
+	public void testMatchesTextRemoveTags()
+	{
+		for (String message : MESSAGES)
+		{
+			assertEquals(message, Text.removeTags(message), TagUtil.removeTags(message));
+		}
+	}
+
+	@Test
+	public void testRandomMatchesTextRemoveTags()
+	{
+		final Random random = new Random(1);
+		final char[] alphabet = "ab <>/=ltg".toCharArray();
+		for (int i = 0; i < 100_000; i++)
+		{
+			final char[] chars = new char[random.nextInt(16)];
+			for (int j = 0; j < chars.length; j++)
+			{
+				chars[j] = alphabet[random.nextInt(alphabet.length)];
+			}
+
+			final String message = new String(chars);
+			final String expected = Text.removeTags(message);
+			assertEquals(message, expected, TagUtil.removeTags(message));
+			assertTrue(message, TagUtil.equalsIgnoreTags(message, expected));
+			assertFalse(message, TagUtil.equalsIgnoreTags(message, expected + "x"));
+			if (!expected.isEmpty())
+			{
+				assertFalse(message, TagUtil.equalsIgnoreTags(message, expected.substring(1)));
+			}
+		}
+	}
+
+	@Test
+	public void testNoTagsReturnsSameString()
+	{
+		final String message = "3 < 4 is true";
+		assertSame(message, TagUtil.removeTags(message));
+	}
+
+	@Test
+	public void testEqualsIgnoreTags()
+	{
+		assertTrue(TagUtil.equalsIgnoreTags("<col=ffffff>Examine</col>", "Examine"));
+		assertTrue(TagUtil.equalsIgnoreTags("Examine", "Examine"));
+		assertFalse(TagUtil.equalsIgnoreTags("<col=ffffff>Examine</col>", "Inspect"));
+		assertFalse(TagUtil.equalsIgnoreTags("Examine <", "Examine"));
+		assertTrue(TagUtil.equalsIgnoreTags("Examine <", "Examine <"));
+		assertTrue(TagUtil.equalsIgnoreTags("a<lt>b", "a<lt>b"));
+		assertFalse(TagUtil.equalsIgnoreTags(null, "Examine"));
+	}
+}